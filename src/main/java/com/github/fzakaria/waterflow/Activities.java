@@ -1,8 +1,5 @@
 package com.github.fzakaria.waterflow;
 
-import com.amazonaws.services.simpleworkflow.model.RecordActivityTaskHeartbeatRequest;
-import com.github.fzakaria.waterflow.immutable.Details;
-import com.github.fzakaria.waterflow.swf.RecordActivityTaskHeartbeatRequestBuilder;
 import com.google.common.base.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,39 +10,42 @@ import javax.annotation.Nullable;
 /**
  * The abstract class of all classes that hold Swf Activity implementations.
  * This gives consistent access to some helper members such as {@link #activityContext}
+ * <p/>
+ * The same instance executes activity tasks on many threads at once, so the {@link ActivityContext}
+ * is kept per thread.
  */
 public abstract class Activities {
 
     protected final Logger log = LoggerFactory.getLogger(getClass());
 
-    @Nullable
-    private ActivityContext activityContext;
+    private final ThreadLocal<ActivityContext> activityContext = new ThreadLocal<>();
 
+    /**
+     * @return the context of the activity task executing on the current thread
+     */
+    @Nullable
     public ActivityContext activityContext() {
-        return activityContext;
+        return activityContext.get();
     }
 
-    public Activities activityContext(ActivityContext activityContext) {
-        this.activityContext = activityContext;
+    public Activities activityContext(@Nullable ActivityContext activityContext) {
+        if (activityContext == null) {
+            this.activityContext.remove();
+        } else {
+            this.activityContext.set(activityContext);
+        }
         return this;
     }
 
     /**
-     * Record a heartbeat on SWF.
+     * Record a heartbeat on SWF for the activity task executing on the current thread.
+     * Activities continuing on other threads should keep the {@link #activityContext()} and use
+     * {@link ActivityContext#recordHeartbeat(String)} instead.
      * @param details information to be recorded
      */
     protected void recordHeartbeat(String details) {
-        Preconditions.checkNotNull(activityContext, "ActivityContext should have been set.");
-        final String taskToken = activityContext().task().getTaskToken();
-        try {
-            final RecordActivityTaskHeartbeatRequest request =
-                    RecordActivityTaskHeartbeatRequestBuilder.builder()
-                            .taskToken(taskToken).details(Details.of(details)).build();
-            activityContext().service().recordActivityTaskHeartbeat(request);
-        } catch (Throwable e) {
-            log.warn("Failed to record heartbeat: " + taskToken + ", " + details, e);
-            throw e;
-        }
+        Preconditions.checkNotNull(activityContext(), "ActivityContext should have been set.");
+        activityContext().recordHeartbeat(details);
     }
 
 }
@@ -2,20 +2,55 @@ package com.github.fzakaria.waterflow;
 
 import com.amazonaws.services.simpleworkflow.AmazonSimpleWorkflow;
 import com.amazonaws.services.simpleworkflow.model.ActivityTask;
+import com.amazonaws.services.simpleworkflow.model.RecordActivityTaskHeartbeatRequest;
+import com.github.fzakaria.waterflow.converter.DataConverter;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.immutable.Details;
+import com.github.fzakaria.waterflow.swf.RecordActivityTaskHeartbeatRequestBuilder;
 import org.immutables.value.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
  * Access to the inner implementation details of the Activity.
- * Also includes helpful functions that ne
+ * Also includes helpful functions that need them, such as {@link #recordHeartbeat(String)}.
+ * <p/>
+ * The context can be kept and used from any thread until the activity completes, which lets
+ * activities returning a {@link java.util.concurrent.CompletionStage} record heartbeats.
  */
 @Value.Immutable
 public abstract class ActivityContext {
 
+    private static final Logger log = LoggerFactory.getLogger(ActivityContext.class);
+
     public abstract AmazonSimpleWorkflow service();
 
     public abstract ActivityTask task();
 
-
+    /**
+     * Encodes the heartbeat details, i.e. compresses them.
+     */
+    @Value.Default
+    public DataConverter dataConverter() {
+        return ImmutableJacksonDataConverter.builder().build();
+    }
+
+    /**
+     * Record a heartbeat on SWF.
+     * @param details information to be recorded
+     */
+    public void recordHeartbeat(String details) {
+        final String taskToken = task().getTaskToken();
+        try {
+            final RecordActivityTaskHeartbeatRequest request =
+                    RecordActivityTaskHeartbeatRequestBuilder.builder()
+                            .taskToken(taskToken).details(Details.of(dataConverter().encode(details))).build();
+            service().recordActivityTaskHeartbeat(request);
+        } catch (Throwable e) {
+            log.warn("Failed to record heartbeat: " + taskToken + ", " + details, e);
+            throw e;
+        }
+    }
 
 }
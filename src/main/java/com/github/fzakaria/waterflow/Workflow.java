@@ -3,11 +3,13 @@ package com.github.fzakaria.waterflow;
 import com.amazonaws.services.simpleworkflow.model.CancelWorkflowExecutionDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.ChildPolicy;
 import com.amazonaws.services.simpleworkflow.model.CompleteWorkflowExecutionDecisionAttributes;
+import com.amazonaws.services.simpleworkflow.model.ContinueAsNewWorkflowExecutionDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.Decision;
 import com.amazonaws.services.simpleworkflow.model.DecisionType;
 import com.amazonaws.services.simpleworkflow.model.EventType;
 import com.amazonaws.services.simpleworkflow.model.FailWorkflowExecutionDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.StartWorkflowExecutionRequest;
+import com.amazonaws.services.simpleworkflow.model.TaskList;
 import com.github.fzakaria.waterflow.action.Action;
 import com.github.fzakaria.waterflow.converter.DataConverter;
 import com.github.fzakaria.waterflow.event.Event;
@@ -27,11 +29,13 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
 import static com.amazonaws.services.simpleworkflow.model.EventType.WorkflowExecutionStarted;
 import static com.github.fzakaria.waterflow.swf.SwfConstants.*;
+import static com.github.fzakaria.waterflow.swf.SwfUtil.seconds;
 import static com.github.fzakaria.waterflow.swf.SwfUtil.trimToMaxLength;
 import static java.lang.String.format;
 
@@ -108,10 +112,31 @@ public abstract class Workflow<InputType,OutputType> {
         return DEFAULT_TASK_LIST;
     }
 
+    /**
+     * The number of history events after which the run continues as new, if {@link #continueAsNewState} allows it.
+     */
+    @Value.Default
+    public int continueAsNewMaxEvents() {
+        return CONTINUE_AS_NEW_MAX_EVENTS_DEFAULT;
+    }
+
+    /**
+     * The size, in characters, of the payloads in the history after which the run continues as new,
+     * if {@link #continueAsNewState} allows it. Unbounded by default.
+     *
+     * @see DecisionContext#payloadSize()
+     */
+    @Value.Default
+    public long continueAsNewMaxPayloadSize() {
+        return Long.MAX_VALUE;
+    }
+
     @Value.Check
     protected void check() {
         Preconditions.checkState(executionStartToCloseTimeout().compareTo(SWF_TIMEOUT_YEAR) <= 0,
                 "'executionStartToCloseTimeout' is longer than supported max timeout");
+        Preconditions.checkState(continueAsNewMaxEvents() > 0 && continueAsNewMaxPayloadSize() > 0,
+                "continue as new thresholds must be positive");
     }
 
     /**
@@ -122,6 +147,15 @@ public abstract class Workflow<InputType,OutputType> {
         return workflowStartedEvent(events).thenApply(e -> dataConverter().fromData(e.input(), inputType().getType()));
     }
 
+    /**
+     * Same as {@link #workflowInput(List)} but the input is decoded at most once per run
+     * thanks to the {@link DecisionContext#payloadMemo()}.
+     */
+    public CompletionStage<InputType> workflowInput(DecisionContext decisionContext) {
+        return workflowStartedEvent(decisionContext.events()).thenApply(e -> decisionContext.payloadMemo()
+                .<InputType>decode(e.id(), inputType().getType(), () -> dataConverter().fromData(e.input(), inputType().getType())));
+    }
+
     /**
      * If available return the start date of the workflow when it was initiated on SWF.
      * <p/>
@@ -151,6 +185,39 @@ public abstract class Workflow<InputType,OutputType> {
      */
     public abstract CompletionStage<OutputType> decide(DecisionContext decisionContext);
 
+    /**
+     * Called instead of {@link #decide} once the history of the run has crossed {@link #continueAsNewMaxEvents()} or
+     * {@link #continueAsNewMaxPayloadSize()}. Return the state to carry over, which becomes the input of the new run,
+     * to continue as new, or empty to keep deciding in this run, i.e. while actions are in flight.
+     * <p/>
+     * Long running workflows, such as perpetual polling ones, override this to keep the cost of replaying
+     * their history bounded. By default a workflow never continues as new.
+     */
+    public Optional<InputType> continueAsNewState(DecisionContext decisionContext) {
+        return Optional.empty();
+    }
+
+    /**
+     * @return whether the history of the run has crossed one of the continue as new thresholds
+     */
+    public boolean isContinueAsNewDue(DecisionContext decisionContext) {
+        return decisionContext.events().size() >= continueAsNewMaxEvents()
+                || (continueAsNewMaxPayloadSize() < Long.MAX_VALUE
+                    && decisionContext.payloadSize() >= continueAsNewMaxPayloadSize());
+    }
+
+    /**
+     * @return the {@link DecisionType#ContinueAsNewWorkflowExecution} decision if the run is due to continue as new
+     * and {@link #continueAsNewState} provides the state to carry over
+     */
+    public Optional<Decision> continueAsNewDecision(DecisionContext decisionContext) {
+        if (!isContinueAsNewDue(decisionContext)) {
+            return Optional.empty();
+        }
+        return continueAsNewState(decisionContext)
+                .map(state -> createContinueAsNewWorkflowExecutionDecision(this, dataConverter().toData(state)));
+    }
+
     /**
      * Called if an external process issued a {@link EventType#WorkflowExecutionCancelRequested} for this workflow.
      * By default will simply add a {@link DecisionType#CancelWorkflowExecution} decision.  Subclasses
@@ -170,6 +237,39 @@ public abstract class Workflow<InputType,OutputType> {
                 );
     }
 
+    /**
+     * The task list, timeouts and child policy of the new run are not inherited from the current run,
+     * SWF uses the defaults the workflow type was registered with.
+     *
+     * @see #createContinueAsNewWorkflowExecutionDecision(Workflow, String)
+     */
+    public static Decision createContinueAsNewWorkflowExecutionDecision(String input) {
+        return new Decision()
+                .withDecisionType(DecisionType.ContinueAsNewWorkflowExecution)
+                .withContinueAsNewWorkflowExecutionDecisionAttributes(
+                        new ContinueAsNewWorkflowExecutionDecisionAttributes()
+                                .withInput(input));
+    }
+
+    /**
+     * The new run uses the task list, timeouts and child policy of the given workflow.
+     *
+     * @throws IllegalStateException if the input is longer than SWF allows, as it can not be trimmed
+     */
+    public static Decision createContinueAsNewWorkflowExecutionDecision(Workflow<?, ?> workflow, String input) {
+        if (input != null && input.length() > MAX_INPUT_LENGTH) {
+            throw new IllegalStateException(format("%s can not continue as new, its state is %s characters long, " +
+                    "more than the %s allowed as input", workflow.key(), input.length(), MAX_INPUT_LENGTH));
+        }
+        Decision decision = createContinueAsNewWorkflowExecutionDecision(input);
+        decision.getContinueAsNewWorkflowExecutionDecisionAttributes()
+                .withTaskList(new TaskList().withName(workflow.taskList().value()))
+                .withExecutionStartToCloseTimeout(seconds(workflow.executionStartToCloseTimeout()))
+                .withTaskStartToCloseTimeout(seconds(workflow.taskStartToCloseTimeout()))
+                .withChildPolicy(workflow.childPolicy());
+        return decision;
+    }
+
     public static Decision createCancelWorkflowExecutionDecision(String result) {
         return new Decision()
                 .withDecisionType(DecisionType.CancelWorkflowExecution)
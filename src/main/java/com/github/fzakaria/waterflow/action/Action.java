@@ -14,10 +14,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
-import java.util.stream.Collectors;
 
 import static com.github.fzakaria.waterflow.event.EventState.NOT_STARTED;
 import static java.lang.String.format;
@@ -73,39 +71,47 @@ public abstract class Action<OutputType>  {
      * Get the most recent event for this {@link Action}.
      * Events are filtered by {@link #actionId}
      */
-    protected Optional<Event> getCurrentEvent(List<Event> events) {
-        return getEvents(events).stream().findFirst();
+    protected Optional<Event> getCurrentEvent(DecisionContext decisionContext) {
+        return getEvents(decisionContext).stream().findFirst();
     }
 
     /**
      * Events in reverse chronological order
      * @return Workflow {@link Event} selected by {@link #actionId()} && {@link #taskType()} ()}
      */
-    protected List<Event> getTaskEvents(List<Event> events) {
-        return getEvents(events).stream().filter(e -> e.task() == taskType()).collect(Collectors.toList());
+    protected List<Event> getTaskEvents(DecisionContext decisionContext) {
+        return decisionContext.actionEvents().events(actionId(), taskType());
     }
 
     /**
      * @return current state for this action.
      * @see EventState for details on how state is calculated
      */
-    protected EventState getState(List<Event> events) {
-        Optional<Event> currentEvent = getCurrentEvent(events);
+    protected EventState getState(DecisionContext decisionContext) {
+        Optional<Event> currentEvent = getCurrentEvent(decisionContext);
         return currentEvent.map(Event::state).orElse(NOT_STARTED);
     }
 
     /**
-     * Returns the events filtered by {@link #actionId()}
+     * Returns the events filtered by {@link #actionId()} in reverse chronological order
      */
-    protected List<Event> getEvents(List<Event> events) {
-        return events.stream().filter(e -> Objects.equals(e.actionId(), actionId())).collect(Collectors.toList());
+    protected List<Event> getEvents(DecisionContext decisionContext) {
+        return decisionContext.actionEvents().events(actionId());
     }
 
 
+    /**
+     * Decode the output of the event, at most once per run thanks to the {@link DecisionContext#payloadMemo()}.
+     */
+    protected OutputType decodeOutput(DecisionContext decisionContext, Event event) {
+        return decisionContext.payloadMemo().decode(event.id(), outputType().getType(), event.output(),
+                () -> workflow().dataConverter().fromData(event.output(), outputType().getType()));
+    }
+
     protected Throwable convertDetailsToThrowable(Event event) {
         Throwable failure;
         try {
-            failure = workflow().dataConverter().fromData(event.details(), Throwable.class);
+            failure = workflow().dataConverter().fromFailure(event.details());
         } catch (DataConverterException e) {
             failure = new RuntimeException(format("%s : %s", event.reason(), event.details()));
         }
@@ -135,8 +135,8 @@ public abstract class ActivityAction<OutputType> extends Action<OutputType> {
 
     @Override
     public CompletionStage<OutputType> decide(DecisionContext decisionContext) {
-        EventState eventState = getState(decisionContext.events());
-        Optional<Event> currentEvent = getCurrentEvent(decisionContext.events());
+        EventState eventState = getState(decisionContext);
+        Optional<Event> currentEvent = getCurrentEvent(decisionContext);
         switch (eventState) {
             case NOT_STARTED:
                 decisionContext.addDecisions(createInitialDecision());
@@ -151,22 +151,23 @@ public abstract class ActivityAction<OutputType> extends Action<OutputType> {
                 break;
             case SUCCESS:
                 assert currentEvent.isPresent() : "If we are success, then the current event must be present";
-                OutputType output = workflow().dataConverter().fromData(currentEvent.get().output(), outputType().getType());
+                OutputType output = decodeOutput(decisionContext, currentEvent.get());
                 return CompletableFuture.completedFuture(output);
             case ERROR:
                 assert currentEvent.isPresent() : "If we have error, then the current event must be present";
-                long attempts = getEvents(decisionContext.events()).stream()
+                List<Event> activityEvents = getTaskEvents(decisionContext);
+                long attempts = activityEvents.stream()
                         .filter(e -> e.type() == EventType.ActivityTaskFailed).count();
 
-                Optional<Instant> firstStartTime = getEvents(decisionContext.events()).stream()
+                Optional<Instant> firstStartTime = activityEvents.stream()
                         .filter(e -> e.type() == EventType.ActivityTaskStarted)
                         .reduce((a,b) -> b).map( Event::eventTimestamp);
 
                 assert firstStartTime.isPresent() : "If we have error, then the firstStartTime event must be present";
 
-                Duration timerDuration = retryStrategy().nextRetry(attempts,firstStartTime.get());
+                Throwable failure = convertDetailsToThrowable(currentEvent.get());
+                Duration timerDuration = retryStrategy().nextRetry(attempts, firstStartTime.get(), failure);
                 if (timerDuration.isZero()) {
-                    Throwable failure = convertDetailsToThrowable(currentEvent.get());
                     CompletableFuture<OutputType> failedFuture = new CompletableFuture<>();
                     failedFuture.completeExceptionally(failure);
                     return failedFuture;
@@ -184,7 +185,7 @@ public abstract class ActivityAction<OutputType> extends Action<OutputType> {
     }
 
     private Decision createInitialDecision() {
-        final Optional<String> input = Optional.ofNullable(input()).map(i -> workflow().dataConverter().toData(i));
+        final Optional<String> input = Optional.ofNullable(input()).map(i -> workflow().dataConverter().toArguments(i));
         return  ScheduleActivityTaskDecisionBuilder
                 .builder().actionId(actionId()).control(control()).heartbeatTimeout(heartBeatTimeoutTimeout())
                 .input(input).name(name()).version(version()).scheduleToCloseTimeout(scheduleToCloseTimeout())
@@ -198,11 +199,11 @@ public abstract class ActivityAction<OutputType> extends Action<OutputType> {
      * @see EventState for details on how state is calculated
      */
     @Override
-    protected EventState getState(List<Event> events) {
-        Optional<Event> currentEvent = getCurrentEvent(events);
+    protected EventState getState(DecisionContext decisionContext) {
+        Optional<Event> currentEvent = getCurrentEvent(decisionContext);
         Optional<Event> timerEvent = currentEvent
                 .filter(e -> e.type() == EventType.TimerFired || EventType.TimerCanceled == e.type());
-        return timerEvent.map(t -> EventState.RETRY).orElse(super.getState(events));
+        return timerEvent.map(t -> EventState.RETRY).orElseGet(() -> super.getState(decisionContext));
     }
 
 }
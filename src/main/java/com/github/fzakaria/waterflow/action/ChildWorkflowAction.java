@@ -0,0 +1,154 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.amazonaws.services.simpleworkflow.model.ChildPolicy;
+import com.amazonaws.services.simpleworkflow.model.EventType;
+import com.amazonaws.services.simpleworkflow.model.StartChildWorkflowExecutionDecisionAttributes;
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecution;
+import com.github.fzakaria.waterflow.TaskType;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.event.EventState;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.TaskListName;
+import com.github.fzakaria.waterflow.immutable.Version;
+import com.github.fzakaria.waterflow.immutable.WorkflowId;
+import com.github.fzakaria.waterflow.swf.StartChildWorkflowExecutionDecisionBuilder;
+import com.google.common.hash.Hashing;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static com.github.fzakaria.waterflow.swf.SwfConstants.MAX_ID_LENGTH;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Starts an SWF child workflow and completes with its result.
+ * <p/>
+ * The input and the result of the child are converted with the {@link com.github.fzakaria.waterflow.converter.DataConverter}
+ * of the parent {@link #workflow()}, which must therefore be compatible with the one of the child workflow.
+ * Each child execution has its own history, so a large job split across child workflows is not bound by the
+ * history limits of a single execution and its decisions are spread over many decision tasks.
+ *
+ * @see PartitionedChildWorkflowAction
+ */
+public abstract class ChildWorkflowAction<OutputType> extends Action<OutputType> {
+
+    /**
+     * The name the child workflow is registered with.
+     */
+    public abstract Name name();
+
+    /**
+     * The version the child workflow is registered with.
+     */
+    public abstract Version version();
+
+    /**
+     * The input of the child workflow, converted with {@link com.github.fzakaria.waterflow.converter.DataConverter#toData}.
+     *
+     * @see StartChildWorkflowExecutionDecisionAttributes#input
+     */
+    @Nullable
+    public abstract Object input();
+
+    /**
+     * The id of the child workflow execution.
+     * Defaults to {@code <parentWorkflowId>-<runHash>-<actionId>}, {@code <runHash>} being a short hash of the run id
+     * of the parent, which is unique for the parent run. A child started by a previous run of a parent that continued
+     * as new may still be open, so reusing its id would fail with {@code WORKFLOW_ALREADY_RUNNING}.
+     *
+     * @see StartChildWorkflowExecutionDecisionAttributes#workflowId
+     */
+    public abstract Optional<WorkflowId> workflowId();
+
+    /**
+     * Overrides the default task list of the child workflow.
+     */
+    public abstract Optional<TaskListName> taskList();
+
+    /**
+     * Overrides the default execution start to close timeout of the child workflow.
+     */
+    public abstract Optional<Duration> executionStartToCloseTimeout();
+
+    /**
+     * Overrides the default decision task start to close timeout of the child workflow.
+     */
+    public abstract Optional<Duration> taskStartToCloseTimeout();
+
+    /**
+     * What happens to the child workflow if the parent is terminated, canceled or times out.
+     */
+    public abstract Optional<ChildPolicy> childPolicy();
+
+    /**
+     * @see StartChildWorkflowExecutionDecisionAttributes#taskPriority
+     */
+    public abstract Optional<Integer> taskPriority();
+
+    @Override
+    public TaskType taskType() {
+        return TaskType.START_CHILD_WORKFLOW;
+    }
+
+    @Override
+    public CompletionStage<OutputType> decide(DecisionContext decisionContext) {
+        EventState eventState = getState(decisionContext);
+        Optional<Event> currentEvent = getCurrentEvent(decisionContext);
+        switch (eventState) {
+            case NOT_STARTED:
+                final Optional<String> input = Optional.ofNullable(input()).map(i -> workflow().dataConverter().toData(i));
+                decisionContext.addDecisions(StartChildWorkflowExecutionDecisionBuilder.builder()
+                        .actionId(actionId()).workflowId(childWorkflowId(decisionContext))
+                        .name(name()).version(version()).input(input).taskListName(taskList())
+                        .executionStartToCloseTimeout(executionStartToCloseTimeout())
+                        .taskStartToCloseTimeout(taskStartToCloseTimeout())
+                        .childPolicy(childPolicy()).taskPriority(taskPriority()).build());
+                break;
+            case INITIAL:
+                break;
+            case ACTIVE:
+                break;
+            case RETRY:
+                break;
+            case SUCCESS:
+                assert currentEvent.isPresent() : "If we are success, then the current event must be present";
+                return CompletableFuture.completedFuture(decodeOutput(decisionContext, currentEvent.get()));
+            case ERROR:
+                assert currentEvent.isPresent() : "If we have error, then the current event must be present";
+                Event event = currentEvent.get();
+                log.warn("Child workflow {} has failed - {}", actionId(), event.reason());
+                Throwable failure = event.type() == EventType.ChildWorkflowExecutionFailed
+                        ? convertDetailsToThrowable(event)
+                        : new IllegalStateException(format("%s : %s", event.reason(), event.details()));
+                CompletableFuture<OutputType> failedFuture = new CompletableFuture<>();
+                failedFuture.completeExceptionally(failure);
+                return failedFuture;
+            default:
+                throw new IllegalStateException(format("%s unknown action state: %s", this, eventState));
+        }
+        return new CompletableFuture<>();
+    }
+
+    /**
+     * @return the {@link #workflowId()} or the default one derived from the parent execution
+     */
+    public WorkflowId childWorkflowId(DecisionContext decisionContext) {
+        if (workflowId().isPresent()) {
+            return workflowId().get();
+        }
+        WorkflowExecution parent = decisionContext.workflowExecution().orElseThrow(() -> new IllegalStateException(
+                format("%s has no workflowId and the parent execution is unknown", actionId())));
+        // the run id may contain characters not allowed in a workflow id, so only a hash of it is used
+        String runHash = Hashing.murmur3_32().hashString(parent.getRunId(), UTF_8).toString();
+        // trim the parent id rather than the action id so that the ids of the children remain distinct
+        String suffix = "-" + runHash + "-" + actionId().value();
+        String parentId = parent.getWorkflowId();
+        int maxParentLength = Math.max(0, MAX_ID_LENGTH - 1 - suffix.length());
+        return WorkflowId.of(parentId.substring(0, Math.min(parentId.length(), maxParentLength)) + suffix);
+    }
+}
@@ -0,0 +1,129 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.github.fzakaria.waterflow.event.EventState;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+import static java.lang.String.format;
+
+/**
+ * Fans out one {@link ActivityAction} per input while keeping at most {@link #window()} of them in flight,
+ * and completes with their outputs in the order of the inputs, or with the failure of the first one failing.
+ * <p/>
+ * The child for the input at index {@code i} has the action id {@code <actionId>-<i>}; children are scheduled in
+ * the order of the inputs so that replaying the history yields the same decisions. At most
+ * {@link #maxDecisions()} children are scheduled per decision task, the remaining ones being scheduled
+ * as the scheduled ones complete.
+ * <pre><code>
+ * ParallelActivityAction&lt;Integer&gt; additions = new ParallelActivityAction&lt;&gt;(ActionId.of("additions"), inputs, 10,
+ *         (actionId, input) -&gt; addition.withActionId(actionId).withInput(input));
+ * </code></pre>
+ */
+public class ParallelActivityAction<OutputType> {
+
+    public static final int DEFAULT_MAX_DECISIONS = 100;
+
+    private final ActionId actionId;
+
+    private final List<ActivityAction<OutputType>> children;
+
+    private final int window;
+
+    private final int maxDecisions;
+
+    public ParallelActivityAction(ActionId actionId, List<Object[]> inputs, int window,
+                                  BiFunction<ActionId, Object[], ? extends ActivityAction<OutputType>> child) {
+        this(actionId, inputs, window, DEFAULT_MAX_DECISIONS, child);
+    }
+
+    /**
+     * @param child creates the action for an input given its action id
+     */
+    public ParallelActivityAction(ActionId actionId, List<Object[]> inputs, int window, int maxDecisions,
+                                  BiFunction<ActionId, Object[], ? extends ActivityAction<OutputType>> child) {
+        Preconditions.checkArgument(window > 0, "'window' must be positive");
+        Preconditions.checkArgument(maxDecisions > 0, "'maxDecisions' must be positive");
+        this.actionId = actionId;
+        this.window = window;
+        this.maxDecisions = maxDecisions;
+        ImmutableList.Builder<ActivityAction<OutputType>> children = ImmutableList.builder();
+        for (int i = 0; i < inputs.size(); i++) {
+            children.add(child.apply(childId(actionId, i), inputs.get(i)));
+        }
+        this.children = children.build();
+    }
+
+    public static ActionId childId(ActionId actionId, int index) {
+        return ActionId.of(format("%s-%s", actionId.value(), index));
+    }
+
+    public ActionId actionId() {
+        return actionId;
+    }
+
+    public List<ActivityAction<OutputType>> children() {
+        return children;
+    }
+
+    public int window() {
+        return window;
+    }
+
+    public int maxDecisions() {
+        return maxDecisions;
+    }
+
+    /**
+     * Decide the children already scheduled, then schedule the next ones while the window and the
+     * decision budget allow. The state of each child is looked up in the {@link DecisionContext#actionEvents()}
+     * index, which is built with a single pass over the history.
+     */
+    public CompletionStage<List<OutputType>> decide(DecisionContext decisionContext) {
+        final int decisionsBefore = decisionContext.decisions().size();
+        final List<CompletableFuture<OutputType>> outputs = new ArrayList<>(children.size());
+        final List<ActivityAction<OutputType>> notStarted = new ArrayList<>();
+        int inFlight = 0;
+        for (ActivityAction<OutputType> child : children) {
+            if (child.getState(decisionContext) == EventState.NOT_STARTED) {
+                notStarted.add(child);
+                continue;
+            }
+            CompletableFuture<OutputType> output = child.decide(decisionContext).toCompletableFuture();
+            if (output.isCompletedExceptionally()) {
+                CompletableFuture<List<OutputType>> failedFuture = new CompletableFuture<>();
+                output.whenComplete((r, t) ->
+                        failedFuture.completeExceptionally(t instanceof CompletionException ? t.getCause() : t));
+                return failedFuture;
+            }
+            if (output.isDone()) {
+                outputs.add(output);
+            } else {
+                inFlight++;
+            }
+        }
+
+        for (ActivityAction<OutputType> child : notStarted) {
+            if (inFlight >= window || decisionContext.decisions().size() - decisionsBefore >= maxDecisions) {
+                break;
+            }
+            child.decide(decisionContext);
+            inFlight++;
+        }
+
+        if (outputs.size() < children.size()) {
+            return new CompletableFuture<>();
+        }
+        List<OutputType> results = new ArrayList<>(outputs.size());
+        outputs.forEach(output -> results.add(output.join()));
+        return CompletableFuture.completedFuture(results);
+    }
+}
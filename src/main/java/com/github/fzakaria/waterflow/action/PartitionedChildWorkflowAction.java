@@ -0,0 +1,132 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.github.fzakaria.waterflow.event.EventState;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+
+/**
+ * Splits a large input into at most {@link #partitions()} contiguous partitions of nearly equal size and starts one
+ * {@link ChildWorkflowAction} per partition, completing with their results in the order of the partitions, or with
+ * the failure of the first one failing.
+ * <p/>
+ * Each partition is processed in its own execution with its own history, which keeps the history of every execution
+ * bounded and spreads the decision tasks over the deciders polling the task list of the children.
+ * The child for the partition at index {@code i} has the action id {@code <actionId>-<i>}; children are started in
+ * the order of the partitions and at most {@link #maxDecisions()} per decision task, the remaining ones being
+ * started in the following decision tasks.
+ * <pre><code>
+ * PartitionedChildWorkflowAction&lt;String, Integer&gt; shards = new PartitionedChildWorkflowAction&lt;&gt;(
+ *         ActionId.of("shards"), lines, 10, (actionId, partition) -&gt; count.withActionId(actionId).withInput(partition));
+ * </code></pre>
+ */
+public class PartitionedChildWorkflowAction<InputType, OutputType> {
+
+    /**
+     * The maximum number of open child executions SWF allows per workflow execution.
+     */
+    public static final int MAX_PARTITIONS = 1000;
+
+    private final ActionId actionId;
+
+    private final List<ChildWorkflowAction<OutputType>> children;
+
+    private final int maxDecisions;
+
+    public PartitionedChildWorkflowAction(ActionId actionId, List<InputType> input, int partitions,
+                                          BiFunction<ActionId, List<InputType>, ? extends ChildWorkflowAction<OutputType>> child) {
+        this(actionId, input, partitions, ParallelActivityAction.DEFAULT_MAX_DECISIONS, child);
+    }
+
+    /**
+     * @param child creates the action for a partition given its action id
+     */
+    public PartitionedChildWorkflowAction(ActionId actionId, List<InputType> input, int partitions, int maxDecisions,
+                                          BiFunction<ActionId, List<InputType>, ? extends ChildWorkflowAction<OutputType>> child) {
+        Preconditions.checkArgument(partitions > 0 && partitions <= MAX_PARTITIONS,
+                "'partitions' must be between 1 and %s", MAX_PARTITIONS);
+        Preconditions.checkArgument(maxDecisions > 0, "'maxDecisions' must be positive");
+        this.actionId = actionId;
+        this.maxDecisions = maxDecisions;
+        List<List<InputType>> split = partition(input, partitions);
+        ImmutableList.Builder<ChildWorkflowAction<OutputType>> children = ImmutableList.builder();
+        for (int i = 0; i < split.size(); i++) {
+            children.add(child.apply(ParallelActivityAction.childId(actionId, i), split.get(i)));
+        }
+        this.children = children.build();
+    }
+
+    /**
+     * Split the input into at most the given number of contiguous partitions whose sizes differ by at most one.
+     * Fewer partitions are returned if the input has fewer elements.
+     */
+    public static <T> List<List<T>> partition(List<T> input, int partitions) {
+        Preconditions.checkArgument(partitions > 0, "'partitions' must be positive");
+        int count = Math.min(partitions, input.size());
+        List<List<T>> split = new ArrayList<>(count);
+        int from = 0;
+        for (int i = 0; i < count; i++) {
+            int to = from + input.size() / count + (i < input.size() % count ? 1 : 0);
+            split.add(ImmutableList.copyOf(input.subList(from, to)));
+            from = to;
+        }
+        return split;
+    }
+
+    public ActionId actionId() {
+        return actionId;
+    }
+
+    public List<ChildWorkflowAction<OutputType>> children() {
+        return children;
+    }
+
+    public int maxDecisions() {
+        return maxDecisions;
+    }
+
+    /**
+     * Decide the children already started, then start the next ones while the decision budget allows.
+     */
+    public CompletionStage<List<OutputType>> decide(DecisionContext decisionContext) {
+        final int decisionsBefore = decisionContext.decisions().size();
+        final List<OutputType> results = new ArrayList<>(children.size());
+        final List<ChildWorkflowAction<OutputType>> notStarted = new ArrayList<>();
+        boolean done = true;
+        for (ChildWorkflowAction<OutputType> child : children) {
+            if (child.getState(decisionContext) == EventState.NOT_STARTED) {
+                notStarted.add(child);
+                done = false;
+                continue;
+            }
+            CompletableFuture<OutputType> output = child.decide(decisionContext).toCompletableFuture();
+            if (output.isCompletedExceptionally()) {
+                CompletableFuture<List<OutputType>> failedFuture = new CompletableFuture<>();
+                output.whenComplete((r, t) ->
+                        failedFuture.completeExceptionally(t instanceof CompletionException ? t.getCause() : t));
+                return failedFuture;
+            }
+            if (output.isDone()) {
+                results.add(output.join());
+            } else {
+                done = false;
+            }
+        }
+
+        for (ChildWorkflowAction<OutputType> child : notStarted) {
+            if (decisionContext.decisions().size() - decisionsBefore >= maxDecisions) {
+                break;
+            }
+            child.decide(decisionContext);
+        }
+        return done ? CompletableFuture.completedFuture(results) : new CompletableFuture<>();
+    }
+}
@@ -31,10 +31,19 @@ import static java.lang.String.format;
 public abstract class RecordMarkerAction extends Action<Void> {
 
     /**
-     * The details for this marker
+     * The details for this marker, encoded by the {@link com.github.fzakaria.waterflow.converter.DataConverter}
+     * of the workflow when recorded.
      */
     public abstract Optional<Details> details();
 
+    /**
+     * @return the details of this marker as recorded in the history, decoded
+     */
+    public Optional<String> recordedDetails(DecisionContext decisionContext) {
+        return getCurrentEvent(decisionContext).map(Event::details)
+                .map(details -> workflow().dataConverter().decode(details));
+    }
+
     @Override
     public TaskType taskType() {
         return TaskType.RECORD_MARKER;
@@ -47,12 +56,14 @@ public abstract class RecordMarkerAction extends Action<Void> {
 
     @Override
     public CompletionStage<Void> decide(DecisionContext decisionContext) {
-        EventState eventState = getState(decisionContext.events());
-        Optional<Event> currentEvent = getCurrentEvent(decisionContext.events());
+        EventState eventState = getState(decisionContext);
+        Optional<Event> currentEvent = getCurrentEvent(decisionContext);
         switch (eventState) {
             case NOT_STARTED:
+                Optional<Details> encodedDetails =
+                        details().map(d -> Details.of(workflow().dataConverter().encode(d.value())));
                 Decision decision =
-                        RecordMarkerDecisionBuilder.builder().actionId(actionId()).details(details()).build();
+                        RecordMarkerDecisionBuilder.builder().actionId(actionId()).details(encodedDetails).build();
                 decisionContext.addDecisions(decision);
                 break;
             case INITIAL:
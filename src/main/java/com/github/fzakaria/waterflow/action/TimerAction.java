@@ -48,8 +48,8 @@ public abstract class TimerAction extends Action<Void> {
 
     @Override
     public CompletionStage<Void> decide(DecisionContext decisionContext) {
-        EventState eventState = getState(decisionContext.events());
-        Optional<Event> currentEvent = getCurrentEvent(decisionContext.events());
+        EventState eventState = getState(decisionContext);
+        Optional<Event> currentEvent = getCurrentEvent(decisionContext);
         switch (eventState) {
             case NOT_STARTED:
                 final Decision decision = StartTimerDecisionBuilder.builder().actionId(actionId())
@@ -34,8 +34,8 @@ public abstract class WaitSignalAction extends Action<String>  {
 
     @Override
     public CompletionStage<String> decide(DecisionContext decisionContext) {
-        EventState eventState = getState(decisionContext.events());
-        Optional<Event> currentEvent = getCurrentEvent(decisionContext.events());
+        EventState eventState = getState(decisionContext);
+        Optional<Event> currentEvent = getCurrentEvent(decisionContext);
         switch (eventState) {
             case NOT_STARTED:
                 break;
@@ -47,7 +47,7 @@ public abstract class WaitSignalAction extends Action<String>  {
                 break;
             case SUCCESS:
                 assert currentEvent.isPresent() : "If we are success, then the current event must be present";
-                String output = workflow().dataConverter().fromData(currentEvent.get().output(), outputType().getType());
+                String output = decodeOutput(decisionContext, currentEvent.get());
                 return CompletableFuture.completedFuture(output);
             default:
                 throw new IllegalStateException(format("%s unknown action state: %s", this, eventState));
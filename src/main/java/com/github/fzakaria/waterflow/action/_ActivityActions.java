@@ -1,5 +1,8 @@
 package com.github.fzakaria.waterflow.action;
 
+import com.github.fzakaria.waterflow.converter.Payload;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
 import com.google.common.reflect.TypeToken;
 import org.immutables.value.Value;
 
@@ -55,5 +58,20 @@ public class _ActivityActions {
         }
     }
 
+    /**
+     * Completes with the {@link Payload} of the activity's output, decoded only when read,
+     * which can be passed on as the input of another activity as is.
+     */
+    @Value.Immutable
+    public static abstract class PayloadActivityAction extends ActivityAction<Payload>{
+        @Override
+        public TypeToken<Payload> outputType() {
+            return TypeToken.of(Payload.class);
+        }
 
+        @Override
+        protected Payload decodeOutput(DecisionContext decisionContext, Event event) {
+            return Payload.of(event.output(), workflow().dataConverter());
+        }
+    }
 }
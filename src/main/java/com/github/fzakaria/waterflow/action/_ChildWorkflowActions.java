@@ -0,0 +1,60 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.github.fzakaria.waterflow.converter.Payload;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.google.common.reflect.TypeToken;
+import org.immutables.value.Value;
+
+@Value.Style(typeAbstract = "_*", typeImmutableEnclosing = "*")
+@Value.Enclosing
+public class _ChildWorkflowActions {
+
+    @Value.Immutable
+    public static abstract class StringChildWorkflowAction extends ChildWorkflowAction<String> {
+        @Override
+        public TypeToken<String> outputType() {
+            return TypeToken.of(String.class);
+        }
+    }
+
+    @Value.Immutable
+    public static abstract class IntegerChildWorkflowAction extends ChildWorkflowAction<Integer> {
+        @Override
+        public TypeToken<Integer> outputType() {
+            return TypeToken.of(Integer.class);
+        }
+    }
+
+    @Value.Immutable
+    public static abstract class ObjectChildWorkflowAction extends ChildWorkflowAction<Object> {
+        @Override
+        public TypeToken<Object> outputType() {
+            return TypeToken.of(Object.class);
+        }
+    }
+
+    @Value.Immutable
+    public static abstract class VoidChildWorkflowAction extends ChildWorkflowAction<Void> {
+        @Override
+        public TypeToken<Void> outputType() {
+            return TypeToken.of(Void.class);
+        }
+    }
+
+    /**
+     * Completes with the {@link Payload} of the child workflow's result, decoded only when read.
+     */
+    @Value.Immutable
+    public static abstract class PayloadChildWorkflowAction extends ChildWorkflowAction<Payload> {
+        @Override
+        public TypeToken<Payload> outputType() {
+            return TypeToken.of(Payload.class);
+        }
+
+        @Override
+        protected Payload decodeOutput(DecisionContext decisionContext, Event event) {
+            return Payload.of(event.output(), workflow().dataConverter());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.fzakaria.waterflow.activity;
+
+import com.github.fzakaria.waterflow.immutable.Key;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The {@link Bulkhead} and {@link CircuitBreaker} of every activity type executed by a worker, created on first
+ * use according to the {@link ActivityLimits}. A single instance is shared by all the pollers of a pool.
+ * <p/>
+ * The guards double as metrics of the worker.
+ */
+public class ActivityGuards {
+
+    private final ActivityLimits limits;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<Key, Optional<Bulkhead>> bulkheads = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Key, Optional<CircuitBreaker>> circuitBreakers = new ConcurrentHashMap<>();
+
+    public ActivityGuards(ActivityLimits limits) {
+        this(limits, Clock.systemUTC());
+    }
+
+    public ActivityGuards(ActivityLimits limits, Clock clock) {
+        this.limits = limits;
+        this.clock = clock;
+    }
+
+    public Optional<Bulkhead> bulkhead(Key key) {
+        return bulkheads.computeIfAbsent(key, k -> limits.maxConcurrent().map(Bulkhead::new));
+    }
+
+    public Optional<CircuitBreaker> circuitBreaker(Key key) {
+        return circuitBreakers.computeIfAbsent(key, k -> limits.failureThreshold()
+                .map(threshold -> new CircuitBreaker(k.toString(), threshold, limits.openDuration(), clock)));
+    }
+
+    /**
+     * Same as {@link #acquire(Key, Duration)} for a task that may wait the {@link ActivityLimits#maxWait()}.
+     */
+    public void acquire(Key key) throws ActivityRejectedException {
+        acquire(key, limits.maxWait());
+    }
+
+    /**
+     * Admit a task of the activity, waiting for room in its bulkhead at most the {@link ActivityLimits#maxWait()}
+     * or the given time left to the task if shorter. Its outcome must then be reported with {@link #release}.
+     *
+     * @throws BulkheadFullException if the bulkhead of the activity had no room in time
+     * @throws CircuitOpenException if the circuit of the activity is open
+     */
+    public void acquire(Key key, Duration timeLeft) throws ActivityRejectedException {
+        Optional<Bulkhead> bulkhead = bulkhead(key);
+        if (bulkhead.isPresent()) {
+            Duration maxWait = timeLeft.compareTo(limits.maxWait()) < 0 ? timeLeft : limits.maxWait();
+            try {
+                if (!bulkhead.get().tryAcquire(maxWait)) {
+                    throw new BulkheadFullException(String.format("Bulkhead of activity '%s' had no room within %sms",
+                            key, Math.max(0, maxWait.toMillis())));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ActivityRejectedException(String.format("Interrupted waiting for room for activity '%s'", key));
+            }
+        }
+        Optional<CircuitBreaker> circuitBreaker = circuitBreaker(key);
+        if (circuitBreaker.isPresent() && !circuitBreaker.get().tryAcquire()) {
+            bulkhead.ifPresent(Bulkhead::release);
+            throw new CircuitOpenException(String.format("Circuit of activity '%s' is open", key));
+        }
+    }
+
+    public void release(Key key, boolean succeeded) {
+        bulkhead(key).ifPresent(Bulkhead::release);
+        circuitBreaker(key).ifPresent(succeeded ? CircuitBreaker::onSuccess : CircuitBreaker::onFailure);
+    }
+
+    /**
+     * @return whether every one of the activities has its circuit open, so polling for them would be in vain
+     */
+    public boolean allOpen(Collection<Key> keys) {
+        return !keys.isEmpty()
+                && keys.stream().allMatch(k -> circuitBreaker(k).map(CircuitBreaker::isOpen).orElse(false));
+    }
+
+    /**
+     * @return whether none of the activities can take another task right now, because its circuit is open
+     * or its bulkhead full, so polling for them would only make tasks wait or fail
+     */
+    public boolean allUnavailable(Collection<Key> keys) {
+        return !keys.isEmpty() && keys.stream().allMatch(k -> circuitBreaker(k).map(CircuitBreaker::isOpen).orElse(false)
+                || bulkhead(k).map(Bulkhead::isFull).orElse(false));
+    }
+
+    public long rejections(Key key) {
+        return circuitBreaker(key).map(CircuitBreaker::rejections).orElse(0L)
+                + bulkhead(key).map(Bulkhead::rejections).orElse(0L);
+    }
+
+    public long waits(Key key) {
+        return bulkhead(key).map(Bulkhead::waits).orElse(0L);
+    }
+}
@@ -5,9 +5,30 @@ import com.amazonaws.services.simpleworkflow.model.ActivityTask;
 import com.github.fzakaria.waterflow.Activities;
 import com.github.fzakaria.waterflow.ImmutableActivityContext;
 import com.github.fzakaria.waterflow.converter.DataConverter;
+import com.github.fzakaria.waterflow.immutable.Key;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.immutables.value.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
 
@@ -16,15 +37,67 @@ import static java.lang.String.format;
  * specific {@link ActivityTask}\
  * This implementation is designed for use with {@link ActivityMethod} and expects
  * the input of the {@link ActivityTask} to be a {@link Object[]}
+ * <p/>
+ * Methods may return a {@link CompletionStage} in which case the task completes once the stage does.
+ * <p/>
+ * Failed invocations are retried according to the {@link #localRetryPolicy()}, if any.
  */
 @Value.Immutable
 public abstract class ActivityInvoker {
 
+    private static final Logger log = LoggerFactory.getLogger(ActivityInvoker.class);
+
+    /**
+     * Delays the local retries of methods returning a {@link CompletionStage}, other methods are retried
+     * on the thread that invoked them.
+     */
+    private static final ScheduledExecutorService RETRY_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("activity-local-retry-%d").setDaemon(true).build());
+
     public abstract AmazonSimpleWorkflow service();
     public abstract ActivityMethod activityMethod();
     public abstract Method method();
     public abstract Activities instance();
     public abstract DataConverter dataConverter();
+    public abstract Optional<LocalRetryPolicy> localRetryPolicy();
+
+    @Value.Default
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    @Value.Derived
+    @Value.Auxiliary
+    public Key key() {
+        return Key.of(activityMethod());
+    }
+
+    /**
+     * The generic parameter types of {@link #method()} used to deserialize the arguments of a task.
+     *
+     * @see DataConverter#fromArguments
+     */
+    @Value.Derived
+    @Value.Auxiliary
+    public List<Type> parameterTypes() {
+        return Arrays.asList(method().getGenericParameterTypes());
+    }
+
+    /**
+     * {@link #method()} bound to {@link #instance()}, taking its arguments as an {@link Object[]}
+     * and returning an {@link Object}. Built once so invoking an activity avoids reflection.
+     */
+    @Value.Derived
+    @Value.Auxiliary
+    public MethodHandle methodHandle() {
+        try {
+            return MethodHandles.publicLookup().unreflect(method()).bindTo(instance())
+                    .asSpreader(Object[].class, method().getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(format("Activity method '%s' is not accessible", method()), e);
+        }
+    }
 
     /**
      * Given a {@link ActivityTask} execute matching {@link ActivityMethod}
@@ -32,16 +105,117 @@ public abstract class ActivityInvoker {
      * @return The result of the {@link ActivityMethod} serialized
      */
     public String invoke(ActivityTask task) {
+        try {
+            return invokeAsync(task).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Given a {@link ActivityTask} execute matching {@link ActivityMethod} without waiting for
+     * methods returning a {@link CompletionStage} to complete.
+     * The input of the ActivityTask must be a Object[]
+     * @return The result of the {@link ActivityMethod} serialized once available
+     */
+    public CompletionStage<String> invokeAsync(ActivityTask task) {
+        return invokeAsync(task, clock().instant());
+    }
+
+    /**
+     * Same as {@link #invokeAsync(ActivityTask)} for a task polled at the given time, from which the timeouts of the
+     * task and thus the budget of its local retries are measured.
+     */
+    public CompletionStage<String> invokeAsync(ActivityTask task, Instant polledAt) {
+        if (!localRetryPolicy().isPresent()) {
+            return invokeOnce(task);
+        }
+        LocalRetryPolicy policy = localRetryPolicy().get();
+        Instant deadline = polledAt.plus(policy.retryBudget(activityMethod()));
+        return invokeWithRetries(task, policy, 1, deadline);
+    }
+
+    private CompletionStage<String> invokeWithRetries(ActivityTask task, LocalRetryPolicy policy, int retry,
+                                                      Instant deadline) {
+        for (; ; retry++) {
+            final Instant started = clock().instant();
+            CompletableFuture<String> result = invokeOnce(task).toCompletableFuture();
+            if (!result.isDone()) {
+                final int nextRetry = retry;
+                CompletableFuture<String> retried = new CompletableFuture<>();
+                result.whenComplete((r, t) -> {
+                    Optional<Duration> delay =
+                            t == null ? Optional.empty() : nextDelay(task, policy, nextRetry, t, started, deadline);
+                    if (!delay.isPresent()) {
+                        complete(retried, r, t);
+                        return;
+                    }
+                    RETRY_SCHEDULER.schedule(() -> {
+                        invokeWithRetries(task, policy, nextRetry + 1, deadline)
+                                .whenComplete((retriedResult, retriedFailure) ->
+                                        complete(retried, retriedResult, retriedFailure));
+                    }, delay.get().toMillis(), TimeUnit.MILLISECONDS);
+                });
+                return retried;
+            }
+            if (!result.isCompletedExceptionally()) {
+                return result;
+            }
+            Throwable failure = result.handle((r, t) -> t).join();
+            Optional<Duration> delay = nextDelay(task, policy, retry, failure, started, deadline);
+            if (!delay.isPresent()) {
+                return result;
+            }
+            try {
+                Thread.sleep(delay.get().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return result;
+            }
+        }
+    }
+
+    private Optional<Duration> nextDelay(ActivityTask task, LocalRetryPolicy policy, int retry, Throwable failure,
+                                         Instant started, Instant deadline) {
+        Throwable e = failure instanceof CompletionException ? failure.getCause() : failure;
+        Instant now = clock().instant();
+        Optional<Duration> delay = policy.nextDelay(retry, Throwables.getRootCause(e), now,
+                Duration.between(started, now), deadline);
+        delay.ifPresent(d -> log.warn("'{}' '{}' failed, local retry #{} in {}ms", task.getActivityId(), key(), retry,
+                d.toMillis(), e));
+        return delay;
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T result, Throwable failure) {
+        if (failure == null) {
+            future.complete(result);
+        } else {
+            future.completeExceptionally(failure instanceof CompletionException ? failure.getCause() : failure);
+        }
+    }
+
+    /**
+     * Failures are the exceptions thrown by the {@link ActivityMethod}, not wrapped, so that deciders
+     * receive them as is.
+     */
+    private CompletionStage<String> invokeOnce(ActivityTask task) {
         final ImmutableActivityContext context =
-                ImmutableActivityContext.builder().task(task).service(service()).build();
-        String name = task.getActivityType().getName();
-        Object[] input = dataConverter().fromData(task.getInput(), Object[].class);
+                ImmutableActivityContext.builder().task(task).service(service())
+                        .dataConverter(dataConverter()).build();
         try {
+            Object[] input = dataConverter().fromArguments(task.getInput(), parameterTypes());
             instance().activityContext(context);
-            Object result = method().invoke(instance(), input);
-            return dataConverter().toData(result);
+            Object result = (Object) methodHandle().invokeExact(input);
+            if (result instanceof CompletionStage) {
+                return ((CompletionStage<?>) result).thenApply(r -> dataConverter().toData(r));
+            }
+            return CompletableFuture.completedFuture(dataConverter().toData(result));
         } catch (Throwable e) {
-            throw new IllegalStateException(format("error: '%s' '%s' '%s'", task.getActivityId(), name, task.getInput()), e);
+            CompletableFuture<String> failedFuture = new CompletableFuture<>();
+            failedFuture.completeExceptionally(e);
+            return failedFuture;
+        } finally {
+            instance().activityContext(null);
         }
     }
 
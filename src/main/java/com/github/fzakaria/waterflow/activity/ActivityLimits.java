@@ -0,0 +1,54 @@
+package com.github.fzakaria.waterflow.activity;
+
+import com.google.common.base.Preconditions;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Limits applied by a worker to each activity type separately.
+ *
+ * @see ActivityGuards
+ */
+@Value.Immutable
+public abstract class ActivityLimits {
+
+    /**
+     * The maximum number of tasks of the activity executing at once, unlimited if absent.
+     *
+     * @see Bulkhead
+     */
+    public abstract Optional<Integer> maxConcurrent();
+
+    /**
+     * The number of consecutive failures of the activity opening its circuit, never opened if absent.
+     *
+     * @see CircuitBreaker
+     */
+    public abstract Optional<Integer> failureThreshold();
+
+    /**
+     * How long an open circuit rejects tasks before letting a trial task through.
+     */
+    @Value.Default
+    public Duration openDuration() {
+        return Duration.ofSeconds(30);
+    }
+
+    /**
+     * How long a task waits for room in the full {@link Bulkhead} of its activity before it is rejected.
+     * A waiting task holds a poller or worker thread and its timeouts keep running, so this is kept short.
+     */
+    @Value.Default
+    public Duration maxWait() {
+        return Duration.ofSeconds(5);
+    }
+
+    @Value.Check
+    protected void check() {
+        Preconditions.checkState(maxConcurrent().orElse(1) > 0, "'maxConcurrent' must be positive");
+        Preconditions.checkState(failureThreshold().orElse(1) > 0, "'failureThreshold' must be positive");
+        Preconditions.checkState(!maxWait().isNegative(), "'maxWait' must not be negative");
+    }
+}
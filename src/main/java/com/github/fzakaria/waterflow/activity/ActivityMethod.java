@@ -28,6 +28,9 @@ import java.lang.annotation.Target;
  * If the return type is void or the method returns null an empty string will be recorded as the activity task result.
  * Otherwise the result will be recorded as the return value converted to a string using toString().
  * <p/>
+ * Methods returning a {@link java.util.concurrent.CompletionStage} complete the activity task with the value
+ * the stage completes with, or fail it if the stage completes exceptionally.
+ * <p/>
  * Activities that throw exceptions will be recorded as an error on their related workflow.
  *
  * @see RegisterActivityTypeRequest RegisterActivityTypeRequest for details and limits of the parameters
@@ -113,4 +116,23 @@ public @interface ActivityMethod {
      */
     int taskPriority() default 0;
 
+    /**
+     * {@link #localRetries()} inheriting the policy of the {@link ActivityPoller}.
+     */
+    int INHERIT_LOCAL_RETRIES = -1;
+
+    /**
+     * Number of times a failed invocation is retried by the worker before the task is failed on SWF.
+     * Default {@link #INHERIT_LOCAL_RETRIES} uses the policy of the {@link ActivityPoller}, 0 disables local retries
+     * and any other value overrides the policy of the poller.
+     *
+     * @see LocalRetryPolicy
+     */
+    int localRetries() default INHERIT_LOCAL_RETRIES;
+
+    /**
+     * Delay before the first local retry in milliseconds, doubling with every retry.
+     */
+    long localRetryDelayMillis() default 100;
+
 }
\ No newline at end of file
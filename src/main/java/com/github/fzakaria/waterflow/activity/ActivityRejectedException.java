@@ -0,0 +1,14 @@
+package com.github.fzakaria.waterflow.activity;
+
+/**
+ * The worker refused to execute an activity task to protect itself or a degraded dependency,
+ * the activity was not invoked.
+ *
+ * @see ActivityGuards
+ */
+public class ActivityRejectedException extends RuntimeException {
+
+    public ActivityRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.fzakaria.waterflow.activity;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounds the number of tasks of an activity executing at once so that a slow activity can not take up
+ * all the workers of a pool. Tasks beyond the bound wait a bounded time for a permit before being failed,
+ * since failing them right away would cost a failure event and a decision to schedule them again while
+ * waiting indefinitely would let the saturated activity take up the threads of the pool after all.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+
+    private final Semaphore permits;
+
+    private final AtomicLong waits = new AtomicLong();
+
+    private final AtomicLong rejections = new AtomicLong();
+
+    public Bulkhead(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Wait at most the given time for the task to be allowed to execute, {@link #release()} must then be called
+     * once it completes.
+     *
+     * @return false if no permit was available in time
+     */
+    public boolean tryAcquire(Duration maxWait) throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        waits.incrementAndGet();
+        if (!maxWait.isNegative() && !maxWait.isZero() && permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        rejections.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public boolean isFull() {
+        return permits.availablePermits() == 0;
+    }
+
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return how many tasks had to wait for a permit
+     */
+    public long waits() {
+        return waits.get();
+    }
+
+    /**
+     * @return how many tasks got no permit in time
+     */
+    public long rejections() {
+        return rejections.get();
+    }
+}
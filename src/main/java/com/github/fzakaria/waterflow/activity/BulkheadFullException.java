@@ -0,0 +1,11 @@
+package com.github.fzakaria.waterflow.activity;
+
+/**
+ * The {@link Bulkhead} of the activity had no room for another task within the time the task could wait.
+ */
+public class BulkheadFullException extends ActivityRejectedException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
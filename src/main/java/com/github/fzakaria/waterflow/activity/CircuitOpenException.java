@@ -0,0 +1,11 @@
+package com.github.fzakaria.waterflow.activity;
+
+/**
+ * The {@link CircuitBreaker} of the activity is open.
+ */
+public class CircuitOpenException extends ActivityRejectedException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
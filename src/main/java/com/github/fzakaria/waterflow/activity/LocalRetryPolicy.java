@@ -0,0 +1,148 @@
+package com.github.fzakaria.waterflow.activity;
+
+import com.amazonaws.services.simpleworkflow.model.ActivityTask;
+import com.google.common.base.Preconditions;
+import org.immutables.value.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static com.github.fzakaria.waterflow.swf.SwfConstants.SWF_TIMEOUT_NONE;
+import static com.github.fzakaria.waterflow.swf.SwfConstants.SWF_TIMEOUT_YEAR;
+
+/**
+ * Retries a failed {@link ActivityMethod} inside the worker, with sub-second exponential backoff, before the task
+ * is failed on SWF. Retrying locally saves the failure event, timer and decision tasks a retry by the
+ * decider costs, so it suits transient failures of flaky dependencies.
+ * <p/>
+ * Retries are bounded by the budget of the task, measured from when it was polled: a retry must be expected to
+ * finish, taking as long as the attempt before it, before the start to close timeout, or the heartbeat timeout
+ * if shorter, of the {@link ActivityMethod} elapses, and within {@link #maxBudget()}.
+ * An {@link ActivityTask} does not carry its timeouts, so the worker only knows the defaults registered by the
+ * {@link ActivityMethod}; {@link #maxBudget()} must be shorter than the timeouts deciders schedule the
+ * activity with if they override them.
+ * <p/>
+ * Methods not returning a {@link java.util.concurrent.CompletionStage} are retried on the thread that invoked
+ * them, which sleeps during the delays between attempts.
+ *
+ * @see ActivityMethod#localRetries()
+ */
+@Value.Immutable
+public abstract class LocalRetryPolicy {
+
+    public abstract int maxRetries();
+
+    @Value.Default
+    public Duration initialDelay() {
+        return Duration.ofMillis(100);
+    }
+
+    @Value.Default
+    public double backoffCoefficient() {
+        return 2;
+    }
+
+    @Value.Default
+    public Duration maxDelay() {
+        return Duration.ofSeconds(10);
+    }
+
+    /**
+     * The longest time after the task was polled retries may run, whatever the timeouts of the activity.
+     */
+    @Value.Default
+    public Duration maxBudget() {
+        return Duration.ofMinutes(1);
+    }
+
+    /**
+     * Which failures, the root cause of the exceptions thrown by the activity, are retried. All by default.
+     */
+    @Value.Default
+    public Predicate<Throwable> retryable() {
+        return failure -> true;
+    }
+
+    @Value.Check
+    protected void check() {
+        Preconditions.checkState(maxRetries() >= 0, "'maxRetries' must not be negative");
+        Preconditions.checkState(backoffCoefficient() >= 1, "'backoffCoefficient' must be at least 1");
+        Preconditions.checkState(!initialDelay().isNegative() && !maxDelay().isNegative(),
+                "delays must not be negative");
+        Preconditions.checkState(!maxBudget().isNegative(), "'maxBudget' must not be negative");
+    }
+
+    /**
+     * @return the policy declared by the activity method, if it retries locally
+     */
+    public static Optional<LocalRetryPolicy> of(ActivityMethod activityMethod) {
+        return of(activityMethod, Optional.empty());
+    }
+
+    /**
+     * @param inherited the policy used unless the activity method declares its own
+     * @return the policy of the activity method, if it retries locally
+     * @see ActivityMethod#localRetries()
+     */
+    public static Optional<LocalRetryPolicy> of(ActivityMethod activityMethod, Optional<LocalRetryPolicy> inherited) {
+        if (activityMethod.localRetries() < 0) {
+            return inherited;
+        }
+        if (activityMethod.localRetries() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(ImmutableLocalRetryPolicy.builder().maxRetries(activityMethod.localRetries())
+                .initialDelay(Duration.ofMillis(activityMethod.localRetryDelayMillis())).build());
+    }
+
+    /**
+     * Same as {@link #nextDelay(int, Throwable, Instant, Duration, Instant)} for an attempt that took no time.
+     */
+    public Optional<Duration> nextDelay(int retry, Throwable failure, Instant now, Instant deadline) {
+        return nextDelay(retry, failure, now, Duration.ZERO, deadline);
+    }
+
+    /**
+     * @param retry the number of the retry, starting at 1
+     * @param failure the failure of the previous attempt
+     * @param now the current time
+     * @param attempt how long the previous attempt took, reserved for the retry
+     * @param deadline the time by which retries must have finished
+     * @return the delay before retrying, empty if the failure must be reported
+     */
+    public Optional<Duration> nextDelay(int retry, Throwable failure, Instant now, Duration attempt, Instant deadline) {
+        if (retry > maxRetries() || !retryable().test(failure)) {
+            return Optional.empty();
+        }
+        double millis = initialDelay().toMillis() * Math.pow(backoffCoefficient(), retry - 1);
+        Duration delay = millis >= maxDelay().toMillis() ? maxDelay() : Duration.ofMillis((long) millis);
+        return now.plus(delay).plus(attempt).isBefore(deadline) ? Optional.of(delay) : Optional.empty();
+    }
+
+    /**
+     * @return how long after the task was polled retries may run, the {@link #budget(ActivityMethod)} of the
+     * activity method capped by {@link #maxBudget()}
+     */
+    public Duration retryBudget(ActivityMethod activityMethod) {
+        Duration budget = budget(activityMethod);
+        return budget.compareTo(maxBudget()) < 0 ? budget : maxBudget();
+    }
+
+    /**
+     * @return how long after the task was polled retries may run according to the timeouts of the activity method
+     */
+    public static Duration budget(ActivityMethod activityMethod) {
+        Duration startToClose = timeout(activityMethod.startToCloseTimeout());
+        Duration heartbeat = timeout(activityMethod.heartbeatTimeout());
+        return startToClose.compareTo(heartbeat) < 0 ? startToClose : heartbeat;
+    }
+
+    private static Duration timeout(String timeout) {
+        if (timeout == null || timeout.isEmpty() || SWF_TIMEOUT_NONE.equals(timeout)) {
+            return SWF_TIMEOUT_YEAR;
+        }
+        return Duration.ofSeconds(Long.parseLong(timeout));
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.hash.Hashing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Content addressed keys of {@link BlobStore} payloads.
+ */
+final class BlobKeys {
+
+    private BlobKeys() {
+    }
+
+    static String sha256(String data) {
+        return Hashing.sha256().hashString(data, UTF_8).toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.fzakaria.waterflow.converter;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Stores payloads too large to be carried in SWF's string fields.
+ * <p/>
+ * Blobs are content addressed so storing the same payload twice yields the same key. Storing a payload again
+ * refreshes the time it was stored at, and blobs not stored since a given time are removed with {@link #purge}.
+ * Blobs are shared by every decider and worker, so they are expired by age rather than by counting references.
+ *
+ * @see ClaimCheckDataConverter
+ */
+public interface BlobStore {
+
+    /**
+     * Store a payload, or refresh the time it was stored at if already stored.
+     * @return the key of the payload
+     */
+    String put(String data);
+
+    /**
+     * @return the payload stored under the key if present
+     */
+    Optional<String> get(String key);
+
+    /**
+     * Delete the payloads last stored before the given time.
+     */
+    void purge(Instant storedBefore);
+
+}
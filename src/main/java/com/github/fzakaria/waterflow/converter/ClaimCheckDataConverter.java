@@ -0,0 +1,148 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import org.immutables.value.Value;
+
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static com.github.fzakaria.waterflow.swf.SwfConstants.MAX_DOMAIN_RETENTION;
+import static com.github.fzakaria.waterflow.swf.SwfConstants.SWF_TIMEOUT_YEAR;
+import static java.lang.String.format;
+
+/**
+ * Decorates a {@link DataConverter} so that serialized payloads longer than {@link #threshold()} are moved into
+ * a {@link BlobStore} and only a compact reference to them is carried in the SWF field. This keeps large payloads
+ * from being truncated to the SWF limits and keeps history pages small.
+ * <p/>
+ * Payloads read through the reference are kept in a cache bounded by {@link #cacheMaximumChars()}.
+ * Payloads are shared by every decider and worker and may be read until the history referring to them is deleted,
+ * so rather than tracking references they are purged from the {@link BlobStore} once not stored again for
+ * {@link #retention()}. At most once every {@link #PURGE_INTERVAL} this converter purges them itself.
+ */
+@Value.Immutable
+public abstract class ClaimCheckDataConverter implements DataConverter {
+
+    public static final String REFERENCE_PREFIX = "&blob:";
+
+    public static final int DEFAULT_THRESHOLD = 8 * 1024;
+
+    public static final long DEFAULT_CACHE_MAXIMUM_CHARS = 16 * 1024 * 1024;
+
+    public static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final AtomicLong lastPurgeMillis = new AtomicLong(System.currentTimeMillis());
+
+    public abstract DataConverter delegate();
+
+    public abstract BlobStore blobStore();
+
+    @Value.Default
+    public int threshold() {
+        return DEFAULT_THRESHOLD;
+    }
+
+    @Value.Default
+    public long cacheMaximumChars() {
+        return DEFAULT_CACHE_MAXIMUM_CHARS;
+    }
+
+    /**
+     * How long a payload is kept after it was last stored. It must cover the longest execution of the workflows
+     * using this converter plus the retention period of their domain, which is the default.
+     */
+    @Value.Default
+    public Duration retention() {
+        return SWF_TIMEOUT_YEAR.plusDays(MAX_DOMAIN_RETENTION.getDays());
+    }
+
+    @Value.Derived
+    @Value.Auxiliary
+    protected Cache<String, String> cache() {
+        return CacheBuilder.newBuilder().maximumWeight(cacheMaximumChars())
+                .weigher((String key, String data) -> data.length()).build();
+    }
+
+    @Override
+    public String toData(Object input) throws DataConverterException {
+        return offload(delegate().toData(input));
+    }
+
+    @Override
+    public <T> T fromData(String input, Type type) throws DataConverterException {
+        return delegate().fromData(resolve(input), type);
+    }
+
+    @Override
+    public String toArguments(Object[] arguments) throws DataConverterException {
+        return offload(delegate().toArguments(arguments));
+    }
+
+    @Override
+    public Object[] fromArguments(String input, List<Type> parameterTypes) throws DataConverterException {
+        return delegate().fromArguments(resolve(input), parameterTypes);
+    }
+
+    @Override
+    public String encode(String data) throws DataConverterException {
+        return offload(delegate().encode(data));
+    }
+
+    @Override
+    public String decode(String data) throws DataConverterException {
+        return delegate().decode(resolve(data));
+    }
+
+    /**
+     * @return the payload, or a reference to it if it was moved into the {@link #blobStore()}
+     */
+    public String offload(String data) {
+        if (data == null || data.length() <= threshold()) {
+            return data;
+        }
+        String key = blobStore().put(data);
+        cache().put(key, data);
+        purgeIfDue();
+        return REFERENCE_PREFIX + key;
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastPurgeMillis.get();
+        if (now - last >= PURGE_INTERVAL.toMillis() && lastPurgeMillis.compareAndSet(last, now)) {
+            blobStore().purge(Instant.ofEpochMilli(now).minus(retention()));
+        }
+    }
+
+    /**
+     * @return the payload the data refers to, or the data itself if it is not a reference
+     */
+    public String resolve(String data) {
+        if (!isReference(data)) {
+            return data;
+        }
+        String key = data.substring(REFERENCE_PREFIX.length());
+        try {
+            return cache().get(key, () -> blobStore().get(key).orElseThrow(() ->
+                    new DataConverterException(format("Payload '%s' is missing from the blob store", key))));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            Throwables.propagateIfInstanceOf(e.getCause(), DataConverterException.class);
+            throw new DataConverterException(e.getCause());
+        }
+    }
+
+    public static boolean isReference(String data) {
+        return data != null && data.startsWith(REFERENCE_PREFIX)
+                && KEY.matcher(data.substring(REFERENCE_PREFIX.length())).matches();
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.io.ByteStreams;
+import org.immutables.value.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Decorates a {@link DataConverter} so that payloads longer than {@link #threshold()} are deflated and
+ * carried base64 encoded behind the {@link #MARKER} prefix. Shorter payloads, payloads that do not shrink and
+ * payloads written before compression was enabled pass through unchanged.
+ * <p/>
+ * Besides serialized payloads, text such as marker and heartbeat details is compressed through {@link #encode}.
+ * When combined with a {@link ClaimCheckDataConverter} this converter should be its delegate
+ * so that payloads are compressed before being measured for offloading.
+ */
+@Value.Immutable
+public abstract class CompressingDataConverter implements DataConverter {
+
+    /**
+     * Marks a deflated payload, the second character names the codec.
+     */
+    public static final String MARKER = "^d";
+
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    private final AtomicLong uncompressedChars = new AtomicLong();
+
+    private final AtomicLong compressedChars = new AtomicLong();
+
+    public abstract DataConverter delegate();
+
+    @Value.Default
+    public int threshold() {
+        return DEFAULT_THRESHOLD;
+    }
+
+    @Override
+    public String toData(Object input) throws DataConverterException {
+        return compress(delegate().toData(input));
+    }
+
+    @Override
+    public <T> T fromData(String input, Type type) throws DataConverterException {
+        return delegate().fromData(decompress(input), type);
+    }
+
+    @Override
+    public String toArguments(Object[] arguments) throws DataConverterException {
+        return compress(delegate().toArguments(arguments));
+    }
+
+    @Override
+    public Object[] fromArguments(String input, List<Type> parameterTypes) throws DataConverterException {
+        return delegate().fromArguments(decompress(input), parameterTypes);
+    }
+
+    @Override
+    public String encode(String data) throws DataConverterException {
+        return compress(delegate().encode(data));
+    }
+
+    @Override
+    public String decode(String data) throws DataConverterException {
+        return delegate().decode(decompress(data));
+    }
+
+    /**
+     * @return the size of the compressed payloads relative to their original size, 1 if nothing was compressed
+     */
+    public double compressionRatio() {
+        long uncompressed = uncompressedChars.get();
+        return uncompressed == 0 ? 1 : (double) compressedChars.get() / uncompressed;
+    }
+
+    private String compress(String data) {
+        if (data == null || data.length() <= threshold()) {
+            return data;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length() / 4);
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(bytes, new Deflater(Deflater.BEST_SPEED))) {
+            deflater.write(data.getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+        String compressed = MARKER + Base64.getEncoder().encodeToString(bytes.toByteArray());
+        if (compressed.length() >= data.length()) {
+            return data;
+        }
+        uncompressedChars.addAndGet(data.length());
+        compressedChars.addAndGet(compressed.length());
+        return compressed;
+    }
+
+    /**
+     * Text that merely starts like a compressed payload, i.e. free-form details, is returned as is.
+     */
+    private static String decompress(String data) {
+        if (data == null || !data.startsWith(MARKER)) {
+            return data;
+        }
+        try (InflaterInputStream inflater = new InflaterInputStream(
+                Base64.getDecoder().wrap(new ByteArrayInputStream(data.substring(MARKER.length()).getBytes(UTF_8))))) {
+            return new String(ByteStreams.toByteArray(inflater), UTF_8);
+        } catch (IOException | IllegalArgumentException e) {
+            return data;
+        }
+    }
+}
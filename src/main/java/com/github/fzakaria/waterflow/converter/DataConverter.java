@@ -1,9 +1,26 @@
 package com.github.fzakaria.waterflow.converter;
 
+import com.google.common.io.CharStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * A light abstraction around various serializing/deserializing libraries.
+ * <p/>
+ * Besides whole {@link String}s payloads can be streamed from and to readers, writers, streams and buffers
+ * (UTF-8 encoded). The defaults go through a {@link String}; implementations override them to avoid the copy.
+ * Streams are neither closed nor flushed beyond the written payload.
  */
 public interface DataConverter {
 
@@ -24,4 +41,131 @@ public interface DataConverter {
      */
     <T> T fromData(String input, Type type) throws DataConverterException;
 
+    /**
+     * Encode text that is not serialized by this converter, such as marker or heartbeat details,
+     * the same way serialized payloads are encoded for their SWF field. Defaults to the text itself.
+     * @param data The text to encode, null allowed
+     * @return The encoded text
+     * @throws DataConverterException if anything goes awry
+     */
+    default String encode(String data) throws DataConverterException {
+        return data;
+    }
+
+    /**
+     * Reverse {@link #encode}. Text that was not encoded is returned as is.
+     * @param data The encoded text, null allowed
+     * @return The text
+     * @throws DataConverterException if anything goes awry
+     */
+    default String decode(String data) throws DataConverterException {
+        return data;
+    }
+
+    /**
+     * Encode a failure for the details of a failed activity or workflow with the {@link FailureCodec}.
+     * @param failure The failure to encode
+     * @return The encoded failure, bounded by {@link FailureCodec#maxLength()} before {@link #encode}
+     * @throws DataConverterException if anything goes awry
+     */
+    default String toFailure(Throwable failure) throws DataConverterException {
+        return encode(FailureCodec.DEFAULT.encode(failure));
+    }
+
+    /**
+     * Reverse {@link #toFailure}. Details written by {@link #toData} before the {@link FailureCodec} existed
+     * are still read.
+     * @param details The details of a failed activity or workflow
+     * @return The decoded failure
+     * @throws DataConverterException if anything goes awry
+     */
+    default Throwable fromFailure(String details) throws DataConverterException {
+        String decoded = decode(details);
+        if (FailureCodec.isFailure(decoded)) {
+            return FailureCodec.DEFAULT.decode(decoded);
+        }
+        return fromData(details, Throwable.class);
+    }
+
+    /**
+     * Given the arguments of an activity return the String representation of them.
+     * Defaults to {@link #toData} of the arguments as a {@link Object[]}.
+     * @param arguments The arguments to serialize
+     * @return The serialized string
+     * @throws DataConverterException if anything goes awry
+     */
+    default String toArguments(Object[] arguments) throws DataConverterException {
+        return toData(arguments);
+    }
+
+    /**
+     * Given the serialized arguments of an activity, coerce them to the parameter types of the activity method.
+     * Defaults to {@link #fromData} as a {@link Object[]} ignoring the parameter types.
+     * @param input The serialized arguments
+     * @param parameterTypes The generic parameter types of the activity method
+     * @return The deserialized arguments
+     * @throws DataConverterException if anything goes awry
+     */
+    default Object[] fromArguments(String input, List<Type> parameterTypes) throws DataConverterException {
+        return fromData(input, Object[].class);
+    }
+
+    /**
+     * Write the String representation of the input, nothing if it is null.
+     * @throws DataConverterException if anything goes awry
+     */
+    default void toWriter(Object input, Writer writer) throws DataConverterException {
+        try {
+            String data = toData(input);
+            if (data != null) {
+                writer.write(data);
+            }
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    /**
+     * Write the UTF-8 encoded String representation of the input, nothing if it is null.
+     * @throws DataConverterException if anything goes awry
+     */
+    default void toStream(Object input, OutputStream outputStream) throws DataConverterException {
+        try {
+            Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+            toWriter(input, writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    /**
+     * Read the serialized version of the final output and coerce it to the given type.
+     * @throws DataConverterException if anything goes awry
+     */
+    default <T> T fromReader(Reader reader, Type type) throws DataConverterException {
+        try {
+            return fromData(CharStreams.toString(reader), type);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    /**
+     * Read the UTF-8 encoded serialized version of the final output and coerce it to the given type.
+     * @throws DataConverterException if anything goes awry
+     */
+    default <T> T fromStream(InputStream inputStream, Type type) throws DataConverterException {
+        return fromReader(new InputStreamReader(inputStream, UTF_8), type);
+    }
+
+    /**
+     * Read the UTF-8 encoded serialized version of the final output from the remaining bytes of the buffer,
+     * without moving its position, and coerce it to the given type.
+     * @throws DataConverterException if anything goes awry
+     */
+    default <T> T fromBuffer(ByteBuffer buffer, Type type) throws DataConverterException {
+        return fromData(UTF_8.decode(buffer.duplicate()).toString(), type);
+    }
+
 }
@@ -10,4 +10,8 @@ public class DataConverterException extends RuntimeException {
         super(cause);
     }
 
+    public DataConverterException(String message) {
+        super(message);
+    }
+
 }
@@ -0,0 +1,179 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.github.fzakaria.waterflow.swf.SwfConstants.MAX_DETAILS_LENGTH;
+
+/**
+ * Encodes failures as compact JSON for the details of failed activities and workflows:
+ * the type, message, top most stack frames and cause chain of a {@link Throwable}, e.g.
+ * <pre>{"@failure":1,"type":"java.lang.IllegalStateException","message":"...","frames":[...],"cause":{...}}</pre>
+ * <p/>
+ * The encoding never exceeds {@link #maxLength()}; frames, then causes, then message text are dropped until it fits.
+ * Decoding always yields a typed exception, a {@link RemoteFailureException} if the type can not be instantiated.
+ */
+public class FailureCodec {
+
+    public static final FailureCodec DEFAULT = new FailureCodec(MAX_DETAILS_LENGTH, 10, 5);
+
+    private static final String VERSION_FIELD = "@failure";
+
+    private static final String PREFIX = "{\"" + VERSION_FIELD + "\":";
+
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The format of {@link StackTraceElement#toString()}.
+     */
+    private static final Pattern FRAME = Pattern.compile("(.*)\\.([^.]*)\\((.*)\\)");
+
+    private final int maxLength;
+
+    private final int maxFrames;
+
+    private final int maxCauses;
+
+    public FailureCodec(int maxLength, int maxFrames, int maxCauses) {
+        Preconditions.checkArgument(maxLength >= 256, "'maxLength' must be at least 256");
+        this.maxLength = maxLength;
+        this.maxFrames = maxFrames;
+        this.maxCauses = maxCauses;
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+
+    public static boolean isFailure(String details) {
+        return details != null && details.startsWith(PREFIX);
+    }
+
+    public String encode(Throwable failure) {
+        Preconditions.checkNotNull(failure);
+        String encoded = null;
+        for (int frames = maxFrames; frames >= 0; frames = frames == 0 ? -1 : frames / 2) {
+            encoded = write(failure, frames, maxCauses, MAX_MESSAGE_LENGTH);
+            if (encoded.length() <= maxLength) {
+                return encoded;
+            }
+        }
+        for (int causes = maxCauses - 1; causes >= 0; causes--) {
+            encoded = write(failure, 0, causes, MAX_MESSAGE_LENGTH);
+            if (encoded.length() <= maxLength) {
+                return encoded;
+            }
+        }
+        for (int messageLength = maxLength / 4; ; messageLength /= 2) {
+            encoded = write(failure, 0, 0, messageLength);
+            if (encoded.length() <= maxLength || messageLength == 0) {
+                return encoded;
+            }
+        }
+    }
+
+    /**
+     * @throws DataConverterException if the details were not written by {@link #encode}
+     */
+    public Throwable decode(String details) throws DataConverterException {
+        if (!isFailure(details)) {
+            throw new DataConverterException("Not an encoded failure: " + details);
+        }
+        try {
+            return read(MAPPER.readTree(details));
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    private static String write(Throwable failure, int frames, int causes, int messageLength) {
+        ObjectNode node = MAPPER.createObjectNode().put(VERSION_FIELD, 1);
+        ObjectNode current = node;
+        Throwable t = failure;
+        for (int i = 0; t != null; i++) {
+            current.put("type", t.getClass().getName());
+            if (t.getMessage() != null) {
+                String message = t.getMessage();
+                current.put("message", message.length() > messageLength ? message.substring(0, messageLength) : message);
+            }
+            StackTraceElement[] stackTrace = t.getStackTrace();
+            if (frames > 0 && stackTrace.length > 0) {
+                ArrayNode array = current.putArray("frames");
+                for (int f = 0; f < Math.min(frames, stackTrace.length); f++) {
+                    array.add(stackTrace[f].toString());
+                }
+            }
+            if (t.getCause() == null || t.getCause() == t || i >= causes) {
+                break;
+            }
+            t = t.getCause();
+            current = current.putObject("cause");
+        }
+        return node.toString();
+    }
+
+    private static Throwable read(JsonNode node) {
+        Throwable cause = node.has("cause") ? read(node.get("cause")) : null;
+        String type = node.path("type").asText();
+        String message = node.has("message") ? node.get("message").asText() : null;
+        Throwable failure = instantiate(type, message, cause);
+        JsonNode frames = node.path("frames");
+        StackTraceElement[] stackTrace = new StackTraceElement[frames.size()];
+        for (int i = 0; i < frames.size(); i++) {
+            stackTrace[i] = frame(frames.get(i).asText());
+        }
+        failure.setStackTrace(stackTrace);
+        return failure;
+    }
+
+    private static Throwable instantiate(String type, String message, Throwable cause) {
+        try {
+            Class<?> clazz = Class.forName(type, false, Thread.currentThread().getContextClassLoader());
+            if (Throwable.class.isAssignableFrom(clazz)) {
+                try {
+                    Constructor<?> constructor = clazz.getConstructor(String.class, Throwable.class);
+                    return (Throwable) constructor.newInstance(message, cause);
+                } catch (NoSuchMethodException e) {
+                    Throwable failure = (Throwable) clazz.getConstructor(String.class).newInstance(message);
+                    if (cause != null && failure.getCause() == null) {
+                        failure.initCause(cause);
+                    }
+                    return failure;
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // fall through to the stand-in
+        }
+        return new RemoteFailureException(type, message, cause);
+    }
+
+    private static StackTraceElement frame(String frame) {
+        Matcher matcher = FRAME.matcher(frame);
+        if (!matcher.matches()) {
+            return new StackTraceElement("", frame, null, -1);
+        }
+        String location = matcher.group(3);
+        int colon = location.lastIndexOf(':');
+        if (colon > 0) {
+            try {
+                return new StackTraceElement(matcher.group(1), matcher.group(2), location.substring(0, colon),
+                        Integer.parseInt(location.substring(colon + 1)));
+            } catch (NumberFormatException e) {
+                // not a line number
+            }
+        }
+        int lineNumber = "Native Method".equals(location) ? -2 : -1;
+        String fileName = lineNumber == -2 || "Unknown Source".equals(location) ? null : location;
+        return new StackTraceElement(matcher.group(1), matcher.group(2), fileName, lineNumber);
+    }
+}
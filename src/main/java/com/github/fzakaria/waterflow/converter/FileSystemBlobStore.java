@@ -0,0 +1,88 @@
+package com.github.fzakaria.waterflow.converter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A {@link BlobStore} keeping every payload in a file named by its key in a local directory.
+ * Payloads are read through a memory mapping of their file.
+ * <p/>
+ * The time a payload was stored at is the last modified time of its file, so several processes may share the directory.
+ */
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path directory;
+
+    public FileSystemBlobStore(Path directory) {
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public synchronized String put(String data) {
+        String key = BlobKeys.sha256(data);
+        Path file = directory.resolve(key);
+        try {
+            if (Files.exists(file)) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            } else {
+                Path temporary = Files.createTempFile(directory, key, ".tmp");
+                Files.write(temporary, data.getBytes(UTF_8));
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (NoSuchFileException e) {
+            // purged concurrently, store it again
+            return put(data);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+        return key;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        try (FileChannel channel = FileChannel.open(directory.resolve(key), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return Optional.of(UTF_8.decode(buffer).toString());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public synchronized void purge(Instant storedBefore) {
+        FileTime cutoff = FileTime.from(storedBefore);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(cutoff) < 0) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (NoSuchFileException e) {
+                    // deleted concurrently
+                } catch (IOException e) {
+                    throw new DataConverterException(e);
+                }
+            });
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.fzakaria.waterflow.converter;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link BlobStore} keeping the payloads on the heap, meant for tests and single process setups.
+ */
+public class InMemoryBlobStore implements BlobStore {
+
+    private final ConcurrentMap<String, Blob> blobs = new ConcurrentHashMap<>();
+
+    @Override
+    public String put(String data) {
+        String key = BlobKeys.sha256(data);
+        blobs.put(key, new Blob(data, Instant.now()));
+        return key;
+    }
+
+    @Override
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(blobs.get(key)).map(blob -> blob.data);
+    }
+
+    @Override
+    public void purge(Instant storedBefore) {
+        blobs.values().removeIf(blob -> blob.stored.isBefore(storedBefore));
+    }
+
+    private static class Blob {
+
+        private final String data;
+
+        private final Instant stored;
+
+        private Blob(String data, Instant stored) {
+            this.data = data;
+            this.stored = stored;
+        }
+    }
+}
@@ -2,10 +2,15 @@ package com.github.fzakaria.waterflow.converter;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -15,7 +20,17 @@ import org.immutables.value.Value;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
 
 /**
  * A wrapper for Jackson {@link ObjectMapper}.
@@ -28,6 +43,8 @@ public abstract class JacksonDataConverter implements DataConverter {
 
 
     private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+    private static final String OBJECT_ARRAY_TYPE_ID = Object[].class.getName();
     static {
         DEFAULT_MAPPER.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
         DEFAULT_MAPPER.registerModules(new Jdk8Module(), new GuavaModule(), new JavaTimeModule());
@@ -35,11 +52,67 @@ public abstract class JacksonDataConverter implements DataConverter {
         DEFAULT_MAPPER.enable(SerializationFeature.INDENT_OUTPUT);
     }
 
+    /**
+     * {@link ObjectReader} are immutable and resolve their type once, so one is kept per type read.
+     */
+    private final ConcurrentMap<Type, ObjectReader> objectReaders = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Type, ObjectReader> untypedObjectReaders = new ConcurrentHashMap<>();
+
     @Value.Default
     public ObjectMapper objectMapper() {
         return DEFAULT_MAPPER;
     }
 
+    /**
+     * When enabled activity arguments are serialized as a plain JSON array without any type information,
+     * i.e. {@code [1, 2]} instead of {@code ["[Ljava.lang.Object;", [1, 2]]}, and deserialized
+     * positionally to the parameter types of the activity method.
+     * <p/>
+     * Both forms are always accepted by {@link #fromArguments} so deciders and activity workers
+     * can be switched over independently.
+     */
+    @Value.Default
+    public boolean positionalArguments() {
+        return false;
+    }
+
+    /**
+     * The {@link #objectMapper()} without default typing, used for positional arguments.
+     */
+    @Value.Lazy
+    protected ObjectMapper untypedObjectMapper() {
+        ObjectMapper untypedObjectMapper = objectMapper().copy();
+        untypedObjectMapper.disableDefaultTyping();
+        return untypedObjectMapper;
+    }
+
+    /**
+     * Leaves the streams it writes to open.
+     */
+    @Value.Lazy
+    protected ObjectWriter objectWriter() {
+        return objectMapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Value.Lazy
+    protected ObjectWriter untypedObjectWriter() {
+        return untypedObjectMapper().writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Leaves the streams it reads from open.
+     */
+    protected ObjectReader objectReader(Type type) {
+        return objectReaders.computeIfAbsent(type, t -> objectMapper().readerFor(objectMapper().constructType(t))
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
+    protected ObjectReader untypedObjectReader(Type type) {
+        return untypedObjectReaders.computeIfAbsent(type, t -> untypedObjectMapper()
+                .readerFor(untypedObjectMapper().constructType(t)).without(JsonParser.Feature.AUTO_CLOSE_SOURCE));
+    }
+
     @Override
     public String toData(Object input) throws DataConverterException {
         if (input == null) {
@@ -47,7 +120,7 @@ public abstract class JacksonDataConverter implements DataConverter {
         }
 
         try {
-            return objectMapper().writeValueAsString(input);
+            return objectWriter().writeValueAsString(input);
         } catch (JsonProcessingException e) {
             throw new DataConverterException(e);
         }
@@ -61,9 +134,121 @@ public abstract class JacksonDataConverter implements DataConverter {
         }
 
         try {
-            return objectMapper().readValue(input, objectMapper().constructType(type));
+            return objectReader(type).readValue(input);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public String toArguments(Object[] arguments) throws DataConverterException {
+        if (!positionalArguments() || arguments == null) {
+            return toData(arguments);
+        }
+
+        try {
+            return untypedObjectWriter().writeValueAsString(arguments);
+        } catch (JsonProcessingException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public Object[] fromArguments(String input, List<Type> parameterTypes) throws DataConverterException {
+        if (Strings.isNullOrEmpty(input)) {
+            return null;
+        }
+
+        try {
+            final JsonNode arguments = untypedObjectMapper().readTree(input);
+            if (isTypedArray(arguments)) {
+                return fromData(input, Object[].class);
+            }
+            if (!arguments.isArray() || arguments.size() != parameterTypes.size()) {
+                throw new DataConverterException(format("Expected a JSON array of %s arguments but got: %s",
+                        parameterTypes.size(), input));
+            }
+            final Object[] result = new Object[parameterTypes.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = untypedObjectReader(parameterTypes.get(i)).readValue(arguments.get(i));
+            }
+            return result;
         } catch (IOException e) {
             throw new DataConverterException(e);
         }
     }
+
+    @Override
+    public void toWriter(Object input, Writer writer) throws DataConverterException {
+        if (input == null) {
+            return;
+        }
+
+        try {
+            objectWriter().writeValue(writer, input);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public void toStream(Object input, OutputStream outputStream) throws DataConverterException {
+        if (input == null) {
+            return;
+        }
+
+        try {
+            objectWriter().writeValue(outputStream, input);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromReader(Reader reader, @Nonnull Type type) throws DataConverterException {
+        Preconditions.checkNotNull(type);
+        try {
+            return objectReader(type).readValue(reader);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromStream(InputStream inputStream, @Nonnull Type type) throws DataConverterException {
+        Preconditions.checkNotNull(type);
+        try {
+            return objectReader(type).readValue(inputStream);
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromBuffer(ByteBuffer buffer, @Nonnull Type type) throws DataConverterException {
+        Preconditions.checkNotNull(type);
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+        if (!buffer.hasArray()) {
+            return fromStream(new ByteBufferBackedInputStream(buffer.duplicate()), type);
+        }
+
+        try {
+            return objectReader(type).readValue(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    buffer.remaining());
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    /**
+     * Default typing writes a {@link Object[]} as the array class name followed by the elements.
+     * The exact type id is matched so that positional arguments starting with a string such as {@code "[a-z]"}
+     * are not mistaken for it.
+     */
+    private static boolean isTypedArray(JsonNode node) {
+        return node.isArray() && node.size() == 2 && node.get(0).isTextual()
+                && OBJECT_ARRAY_TYPE_ID.equals(node.get(0).asText()) && node.get(1).isArray();
+    }
 }
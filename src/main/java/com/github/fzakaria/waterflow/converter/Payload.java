@@ -0,0 +1,131 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * A payload as found in the history, i.e. the output of an activity, decoded only once its value is read.
+ * <p/>
+ * Passed as an argument of an {@link com.github.fzakaria.waterflow.action.ActivityAction} a payload written
+ * by a {@link JacksonDataConverter} is spliced into the input as is, without being decoded and encoded again.
+ * Payloads in other formats, and structured payloads passed as positional arguments
+ * (see {@link JacksonDataConverter#positionalArguments()}), are decoded to be written.
+ */
+public class Payload implements JsonSerializable {
+
+    private final String data;
+
+    private final DataConverter dataConverter;
+
+    /**
+     * The last decoded value with its type, published together so a reader never pairs a value with another type.
+     */
+    private volatile Decoded decoded;
+
+    public Payload(String data, DataConverter dataConverter) {
+        this.data = data;
+        this.dataConverter = Preconditions.checkNotNull(dataConverter);
+    }
+
+    public static Payload of(String data, DataConverter dataConverter) {
+        return new Payload(data, dataConverter);
+    }
+
+    /**
+     * @return the payload as found in the history
+     */
+    public String data() {
+        return data;
+    }
+
+    /**
+     * @return the payload decoded to the given type, the last decoded value is kept
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T value(Type type) {
+        Decoded decoded = this.decoded;
+        if (decoded == null || !type.equals(decoded.type)) {
+            decoded = new Decoded(type, dataConverter.fromData(data, type));
+            this.decoded = decoded;
+        }
+        return (T) decoded.value;
+    }
+
+    public <T> T value(Class<T> type) {
+        return value((Type) type);
+    }
+
+    /**
+     * Written without type information, so only scalars are spliced: the payload carries type information
+     * for structured values that the reader would not expect.
+     */
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        String json = json(gen);
+        if (json != null && !json.startsWith("{") && !json.startsWith("[")) {
+            gen.writeRawValue(json);
+            return;
+        }
+        serializers.defaultSerializeValue(value(Object.class), gen);
+    }
+
+    /**
+     * Written with type information, which a payload written by {@link DataConverter#toData} already carries.
+     */
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        String json = json(gen);
+        if (json != null) {
+            gen.writeRawValue(json);
+            return;
+        }
+        Object value = value(Object.class);
+        if (value == null) {
+            serializers.defaultSerializeNull(gen);
+            return;
+        }
+        serializers.findTypedValueSerializer(value.getClass(), true, null).serialize(value, gen, serializers);
+    }
+
+    /**
+     * @return the payload as JSON that can be written raw to the generator, null if it is not JSON or the generator
+     * writes a binary format, i.e. Smile or the token buffer of {@link com.fasterxml.jackson.databind.ObjectMapper#convertValue}
+     */
+    private String json(JsonGenerator gen) {
+        if (gen.canWriteBinaryNatively() || data == null) {
+            return null;
+        }
+        String json = dataConverter.decode(data).trim();
+        if (json.isEmpty() || SmileDataConverter.isSmile(json)) {
+            return null;
+        }
+        char first = json.charAt(0);
+        boolean isJson = first == '{' || first == '[' || first == '"' || first == '-' || Character.isDigit(first)
+                || json.equals("true") || json.equals("false") || json.equals("null");
+        return isJson ? json : null;
+    }
+
+    @Override
+    public String toString() {
+        return "Payload(" + data + ")";
+    }
+
+    private static final class Decoded {
+
+        private final Type type;
+
+        private final Object value;
+
+        private Decoded(Type type, Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+}
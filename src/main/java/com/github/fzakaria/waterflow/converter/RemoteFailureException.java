@@ -0,0 +1,28 @@
+package com.github.fzakaria.waterflow.converter;
+
+/**
+ * Stands in for a failure decoded by {@link FailureCodec} whose type can not be instantiated locally,
+ * i.e. it is not on the classpath or has no suitable constructor.
+ */
+public class RemoteFailureException extends RuntimeException {
+
+    private final String type;
+
+    public RemoteFailureException(String type, String message, Throwable cause) {
+        super(message, cause);
+        this.type = type;
+    }
+
+    /**
+     * @return the class name of the original failure
+     */
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        String message = getLocalizedMessage();
+        return message == null ? type : type + ": " + message;
+    }
+}
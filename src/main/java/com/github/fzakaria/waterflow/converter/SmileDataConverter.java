@@ -0,0 +1,101 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import org.immutables.value.Value;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Serializes to the binary Smile format of Jackson, which is considerably more compact than indented JSON
+ * for structured data, and carries it base64 encoded in SWF's string fields.
+ * <p/>
+ * Every payload starts with {@link #HEADER}, a character no JSON document starts with, so histories can mix
+ * payloads written by this converter and by a {@link JacksonDataConverter}. Payloads without the header
+ * are handed to {@link #fallback()}.
+ */
+@Value.Immutable
+public abstract class SmileDataConverter implements DataConverter {
+
+    public static final char HEADER = '~';
+
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper(new SmileFactory());
+    static {
+        DEFAULT_MAPPER.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        DEFAULT_MAPPER.registerModules(new Jdk8Module(), new GuavaModule(), new JavaTimeModule());
+        DEFAULT_MAPPER.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    }
+
+    /**
+     * Must be created with a {@link SmileFactory}.
+     */
+    @Value.Default
+    public ObjectMapper objectMapper() {
+        return DEFAULT_MAPPER;
+    }
+
+    /**
+     * Reads the payloads not written by this converter.
+     */
+    @Value.Default
+    public DataConverter fallback() {
+        return ImmutableJacksonDataConverter.builder().build();
+    }
+
+    @Override
+    public String toData(Object input) throws DataConverterException {
+        if (input == null) {
+            return null;
+        }
+
+        try {
+            return HEADER + Base64.getEncoder().encodeToString(objectMapper().writeValueAsBytes(input));
+        } catch (IOException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public <T> T fromData(String input, @Nonnull Type type) throws DataConverterException {
+        Preconditions.checkNotNull(type);
+        if (Strings.isNullOrEmpty(input)) {
+            return null;
+        }
+        if (!isSmile(input)) {
+            return fallback().fromData(input, type);
+        }
+
+        try {
+            return objectMapper().readValue(fromBase64(input), objectMapper().constructType(type));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new DataConverterException(e);
+        }
+    }
+
+    @Override
+    public Object[] fromArguments(String input, List<Type> parameterTypes) throws DataConverterException {
+        if (Strings.isNullOrEmpty(input) || isSmile(input)) {
+            return fromData(input, Object[].class);
+        }
+        return fallback().fromArguments(input, parameterTypes);
+    }
+
+    public static boolean isSmile(String input) {
+        return !input.isEmpty() && input.charAt(0) == HEADER;
+    }
+
+    private static byte[] fromBase64(String input) {
+        return Base64.getDecoder().decode(input.substring(1));
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.fzakaria.waterflow.event;
+
+import com.github.fzakaria.waterflow.TaskType;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableTable;
+import com.google.common.collect.Table;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buckets the {@link Event} of a decision task by {@link ActionId} and {@link TaskType}
+ * so that an {@link com.github.fzakaria.waterflow.action.Action} can find its events with a single map lookup.
+ * <p/>
+ * Every bucket keeps the order of the events it was built from, which is most recent event first.
+ */
+public final class ActionEventIndex {
+
+    private final int size;
+
+    private final ImmutableListMultimap<ActionId, Event> eventsByActionId;
+
+    private final ImmutableListMultimap<TaskType, Event> eventsByTaskType;
+
+    private final ImmutableTable<ActionId, TaskType, List<Event>> eventsByActionIdAndTaskType;
+
+    private ActionEventIndex(List<Event> events) {
+        ImmutableListMultimap.Builder<ActionId, Event> byActionId = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<TaskType, Event> byTaskType = ImmutableListMultimap.builder();
+        Table<ActionId, TaskType, List<Event>> byActionIdAndTaskType = HashBasedTable.create();
+        for (Event event : events) {
+            byTaskType.put(event.task(), event);
+            ActionId actionId = event.actionId();
+            if (actionId == null) {
+                continue;
+            }
+            byActionId.put(actionId, event);
+            List<Event> bucket = byActionIdAndTaskType.get(actionId, event.task());
+            if (bucket == null) {
+                bucket = new ArrayList<>();
+                byActionIdAndTaskType.put(actionId, event.task(), bucket);
+            }
+            bucket.add(event);
+        }
+        ImmutableTable.Builder<ActionId, TaskType, List<Event>> table = ImmutableTable.builder();
+        byActionIdAndTaskType.cellSet().forEach(c ->
+                table.put(c.getRowKey(), c.getColumnKey(), ImmutableList.copyOf(c.getValue())));
+
+        this.size = events.size();
+        this.eventsByActionId = byActionId.build();
+        this.eventsByTaskType = byTaskType.build();
+        this.eventsByActionIdAndTaskType = table.build();
+    }
+
+    public static ActionEventIndex of(List<Event> events) {
+        return new ActionEventIndex(events);
+    }
+
+    /**
+     * The number of events that were indexed.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return events for the given {@link ActionId}, most recent first
+     */
+    public List<Event> events(ActionId actionId) {
+        return eventsByActionId.get(actionId);
+    }
+
+    /**
+     * @return events of the given {@link TaskType}, most recent first
+     */
+    public List<Event> events(TaskType taskType) {
+        return eventsByTaskType.get(taskType);
+    }
+
+    /**
+     * @return events for the given {@link ActionId} and {@link TaskType}, most recent first
+     */
+    public List<Event> events(ActionId actionId, TaskType taskType) {
+        List<Event> events = eventsByActionIdAndTaskType.get(actionId, taskType);
+        return events == null ? ImmutableList.of() : events;
+    }
+}
@@ -7,20 +7,24 @@ import com.github.fzakaria.waterflow.TaskType;
 import com.github.fzakaria.waterflow.immutable.ActionId;
 import org.immutables.value.Value;
 
+import javax.annotation.Nullable;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static com.amazonaws.services.simpleworkflow.model.EventType.*;
 import static com.github.fzakaria.waterflow.TaskType.*;
 import static com.github.fzakaria.waterflow.event.EventState.*;
 import static java.lang.String.format;
-import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toCollection;
 
 
 /**
  * {@link Event} class consolidates SWF {@link HistoryEvent} types
  * so groups of similar event types can be accessed in a uniform way.
+ * <p/>
+ * Attributes derived from the {@link EventType} are computed once on first access
+ * since actions query them repeatedly during every decision.
  */
 @Value.Immutable
 public abstract class Event implements Comparable<Event> {
@@ -28,506 +32,695 @@ public abstract class Event implements Comparable<Event> {
     public abstract HistoryEvent historyEvent();
 
     /**
-     * All history events are required since we need to find the previous events
-     * they might refer to.
+     * An index of all history events is required since we need to find the previous events
+     * they might refer to. The same index is shared by every event of a decision task.
      */
     @Value.Auxiliary
-    public abstract List<HistoryEvent> historyEvents();
+    public abstract HistoryIndex historyIndex();
 
     public static List<Event> fromHistoryEvents(List<HistoryEvent> historyEvents) {
+        return fromHistoryEvents(historyEvents, HistoryIndex.of(historyEvents));
+    }
+
+    /**
+     * Create the events of history events that are newer than the given events of the same workflow execution.
+     * The given events, and anything they have already computed, are reused as is.
+     *
+     * @param events events previously created for the execution, newest event first
+     * @return the new events followed by the given events, newest event first
+     */
+    public static List<Event> appendHistoryEvents(List<Event> events, List<HistoryEvent> newerHistoryEvents) {
+        if (events.isEmpty()) {
+            return fromHistoryEvents(newerHistoryEvents);
+        }
+        // the newest event carries the index of every event before it
+        final HistoryIndex historyIndex = events.get(0).historyIndex().append(newerHistoryEvents);
+        final List<Event> appended = fromHistoryEvents(newerHistoryEvents, historyIndex);
+        appended.addAll(events);
+        return appended;
+    }
+
+    private static List<Event> fromHistoryEvents(List<HistoryEvent> historyEvents, HistoryIndex historyIndex) {
         return historyEvents.stream()
-                .map(h -> ImmutableEvent.builder().historyEvent(h).historyEvents(historyEvents).build())
-                .sorted().collect(toList());
+                .map(h -> ImmutableEvent.builder().historyEvent(h).historyIndex(historyIndex).build())
+                .sorted().collect(toCollection(ArrayList::new));
     }
 
+    @Value.Lazy
     public EventType type() { return EventType.valueOf(historyEvent().getEventType()); }
 
     public Long id() { return historyEvent().getEventId(); }
 
     public Instant eventTimestamp() { return historyEvent().getEventTimestamp().toInstant(); }
 
+    @Value.Lazy
     public TaskType task() {
-        if (WorkflowExecutionStarted == type()) { return WORKFLOW_EXECUTION; }
-        if (WorkflowExecutionCancelRequested == type()) { return WORKFLOW_EXECUTION; }
-        if (WorkflowExecutionCompleted == type()) { return WORKFLOW_EXECUTION; }
-        if (CompleteWorkflowExecutionFailed == type()) { return WORKFLOW_EXECUTION; }
-        if (WorkflowExecutionFailed == type()) { return WORKFLOW_EXECUTION; }
-        if (FailWorkflowExecutionFailed == type()) { return WORKFLOW_EXECUTION; }
-        if (WorkflowExecutionTimedOut == type()) { return WORKFLOW_EXECUTION; }
-        if (WorkflowExecutionCanceled == type()) { return WORKFLOW_EXECUTION; }
-        if (CancelWorkflowExecutionFailed == type()) { return WORKFLOW_EXECUTION; }
-        if (WorkflowExecutionContinuedAsNew == type()) { return CONTINUE_AS_NEW; }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return CONTINUE_AS_NEW; }
-        if (WorkflowExecutionTerminated == type()) { return WORKFLOW_EXECUTION; }
-        if (DecisionTaskScheduled == type()) { return DECISION; }
-        if (DecisionTaskStarted == type()) { return DECISION; }
-        if (DecisionTaskCompleted == type()) { return DECISION; }
-        if (DecisionTaskTimedOut == type()) { return DECISION; }
-        if (ActivityTaskScheduled == type()) { return ACTIVITY; }
-        if (ScheduleActivityTaskFailed == type()) { return ACTIVITY; }
-        if (ActivityTaskStarted == type()) { return ACTIVITY; }
-        if (ActivityTaskCompleted == type()) { return ACTIVITY; }
-        if (ActivityTaskFailed == type()) { return ACTIVITY; }
-        if (ActivityTaskTimedOut == type()) { return ACTIVITY; }
-        if (ActivityTaskCanceled == type()) { return ACTIVITY; }
-        if (ActivityTaskCancelRequested == type()) { return ACTIVITY; }
-        if (RequestCancelActivityTaskFailed == type()) { return ACTIVITY; }
-        if (WorkflowExecutionSignaled == type()) { return WORKFLOW_SIGNALED; }
-        if (MarkerRecorded == type()) { return RECORD_MARKER; }
-        if (RecordMarkerFailed == type()) { return RECORD_MARKER; }
-        if (TimerStarted == type()) { return TIMER; }
-        if (StartTimerFailed == type()) { return TIMER; }
-        if (TimerFired == type()) { return TIMER; }
-        if (TimerCanceled == type()) { return TIMER; }
-        if (CancelTimerFailed == type()) { return TIMER; }
-        if (StartChildWorkflowExecutionInitiated == type()) { return START_CHILD_WORKFLOW; }
-        if (StartChildWorkflowExecutionFailed == type()) { return START_CHILD_WORKFLOW; }
-        if (ChildWorkflowExecutionStarted == type()) { return START_CHILD_WORKFLOW; }
-        if (ChildWorkflowExecutionCompleted == type()) { return START_CHILD_WORKFLOW; }
-        if (ChildWorkflowExecutionFailed == type()) { return START_CHILD_WORKFLOW; }
-        if (ChildWorkflowExecutionTimedOut == type()) { return START_CHILD_WORKFLOW; }
-        if (ChildWorkflowExecutionCanceled == type()) { return START_CHILD_WORKFLOW; }
-        if (ChildWorkflowExecutionTerminated == type()) { return START_CHILD_WORKFLOW; }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return SIGNAL_EXTERNAL_WORKFLOW; }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return SIGNAL_EXTERNAL_WORKFLOW; }
-        if (ExternalWorkflowExecutionSignaled == type()) { return SIGNAL_EXTERNAL_WORKFLOW; }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return CANCEL_EXTERNAL_WORKFLOW; }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return CANCEL_EXTERNAL_WORKFLOW; }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return CANCEL_EXTERNAL_WORKFLOW; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionCancelRequested:
+            case WorkflowExecutionCompleted:
+            case CompleteWorkflowExecutionFailed:
+            case WorkflowExecutionFailed:
+            case FailWorkflowExecutionFailed:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionCanceled:
+            case CancelWorkflowExecutionFailed:
+            case WorkflowExecutionTerminated:
+                return WORKFLOW_EXECUTION;
+            case WorkflowExecutionContinuedAsNew:
+            case ContinueAsNewWorkflowExecutionFailed:
+                return CONTINUE_AS_NEW;
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskCompleted:
+            case DecisionTaskTimedOut:
+                return DECISION;
+            case ActivityTaskScheduled:
+            case ScheduleActivityTaskFailed:
+            case ActivityTaskStarted:
+            case ActivityTaskCompleted:
+            case ActivityTaskFailed:
+            case ActivityTaskTimedOut:
+            case ActivityTaskCanceled:
+            case ActivityTaskCancelRequested:
+            case RequestCancelActivityTaskFailed:
+                return ACTIVITY;
+            case WorkflowExecutionSignaled:
+                return WORKFLOW_SIGNALED;
+            case MarkerRecorded:
+            case RecordMarkerFailed:
+                return RECORD_MARKER;
+            case TimerStarted:
+            case StartTimerFailed:
+            case TimerFired:
+            case TimerCanceled:
+            case CancelTimerFailed:
+                return TIMER;
+            case StartChildWorkflowExecutionInitiated:
+            case StartChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionStarted:
+            case ChildWorkflowExecutionCompleted:
+            case ChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionTimedOut:
+            case ChildWorkflowExecutionCanceled:
+            case ChildWorkflowExecutionTerminated:
+                return START_CHILD_WORKFLOW;
+            case SignalExternalWorkflowExecutionInitiated:
+            case SignalExternalWorkflowExecutionFailed:
+            case ExternalWorkflowExecutionSignaled:
+                return SIGNAL_EXTERNAL_WORKFLOW;
+            case RequestCancelExternalWorkflowExecutionInitiated:
+            case RequestCancelExternalWorkflowExecutionFailed:
+            case ExternalWorkflowExecutionCancelRequested:
+                return CANCEL_EXTERNAL_WORKFLOW;
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
     }
 
+    @Value.Lazy
     public EventState state() {
-        if (WorkflowExecutionStarted == type()) { return INITIAL; }
-        if (WorkflowExecutionCancelRequested == type()) { return ACTIVE; }
-        if (WorkflowExecutionCompleted == type()) { return SUCCESS; }
-        if (CompleteWorkflowExecutionFailed == type()) { return ERROR; }
-        if (WorkflowExecutionFailed == type()) { return ERROR; }
-        if (FailWorkflowExecutionFailed == type()) { return ERROR; }
-        if (WorkflowExecutionTimedOut == type()) { return ERROR; }
-        if (WorkflowExecutionCanceled == type()) { return ERROR; }
-        if (CancelWorkflowExecutionFailed == type()) { return ERROR; }
-        if (WorkflowExecutionContinuedAsNew == type()) { return INITIAL; }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return ERROR; }
-        if (WorkflowExecutionTerminated == type()) { return ERROR; }
-        if (DecisionTaskScheduled == type()) { return INITIAL; }
-        if (DecisionTaskStarted == type()) { return ACTIVE; }
-        if (DecisionTaskCompleted == type()) { return SUCCESS; }
-        if (DecisionTaskTimedOut == type()) { return ERROR; }
-        if (ActivityTaskScheduled == type()) { return INITIAL; }
-        if (ScheduleActivityTaskFailed == type()) { return ERROR; }
-        if (ActivityTaskStarted == type()) { return ACTIVE; }
-        if (ActivityTaskCompleted == type()) { return SUCCESS; }
-        if (ActivityTaskFailed == type()) { return ERROR; }
-        if (ActivityTaskTimedOut == type()) { return ERROR; }
-        if (ActivityTaskCanceled == type()) { return ERROR; }
-        if (ActivityTaskCancelRequested == type()) { return ERROR; }
-        if (RequestCancelActivityTaskFailed == type()) { return ERROR; }
-        if (WorkflowExecutionSignaled == type()) { return SUCCESS; }
-        if (MarkerRecorded == type()) { return INITIAL; }
-        if (RecordMarkerFailed == type()) { return ERROR; }
-        if (TimerStarted == type()) { return INITIAL; }
-        if (StartTimerFailed == type()) { return ERROR; }
-        if (TimerFired == type()) { return SUCCESS; }
-        if (TimerCanceled == type()) { return SUCCESS; }
-        if (CancelTimerFailed == type()) { return ACTIVE; }
-        if (StartChildWorkflowExecutionInitiated == type()) { return INITIAL; }
-        if (StartChildWorkflowExecutionFailed == type()) { return ERROR; }
-        if (ChildWorkflowExecutionStarted == type()) { return ACTIVE; }
-        if (ChildWorkflowExecutionCompleted == type()) { return SUCCESS; }
-        if (ChildWorkflowExecutionFailed == type()) { return ERROR; }
-        if (ChildWorkflowExecutionTimedOut == type()) { return ERROR; }
-        if (ChildWorkflowExecutionCanceled == type()) { return ERROR; }
-        if (ChildWorkflowExecutionTerminated == type()) { return ERROR; }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return INITIAL; }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return ERROR; }
-        if (ExternalWorkflowExecutionSignaled == type()) { return SUCCESS; }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return INITIAL; }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return ERROR; }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return SUCCESS; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionContinuedAsNew:
+            case DecisionTaskScheduled:
+            case ActivityTaskScheduled:
+            case MarkerRecorded:
+            case TimerStarted:
+            case StartChildWorkflowExecutionInitiated:
+            case SignalExternalWorkflowExecutionInitiated:
+            case RequestCancelExternalWorkflowExecutionInitiated:
+                return INITIAL;
+            case WorkflowExecutionCancelRequested:
+            case DecisionTaskStarted:
+            case ActivityTaskStarted:
+            case CancelTimerFailed:
+            case ChildWorkflowExecutionStarted:
+                return ACTIVE;
+            case WorkflowExecutionCompleted:
+            case DecisionTaskCompleted:
+            case ActivityTaskCompleted:
+            case WorkflowExecutionSignaled:
+            case TimerFired:
+            case TimerCanceled:
+            case ChildWorkflowExecutionCompleted:
+            case ExternalWorkflowExecutionSignaled:
+            case ExternalWorkflowExecutionCancelRequested:
+                return SUCCESS;
+            case CompleteWorkflowExecutionFailed:
+            case WorkflowExecutionFailed:
+            case FailWorkflowExecutionFailed:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionCanceled:
+            case CancelWorkflowExecutionFailed:
+            case ContinueAsNewWorkflowExecutionFailed:
+            case WorkflowExecutionTerminated:
+            case DecisionTaskTimedOut:
+            case ScheduleActivityTaskFailed:
+            case ActivityTaskFailed:
+            case ActivityTaskTimedOut:
+            case ActivityTaskCanceled:
+            case ActivityTaskCancelRequested:
+            case RequestCancelActivityTaskFailed:
+            case RecordMarkerFailed:
+            case StartTimerFailed:
+            case StartChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionTimedOut:
+            case ChildWorkflowExecutionCanceled:
+            case ChildWorkflowExecutionTerminated:
+            case SignalExternalWorkflowExecutionFailed:
+            case RequestCancelExternalWorkflowExecutionFailed:
+                return ERROR;
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
     }
 
+    @Value.Lazy
+    @Nullable
     public Long initialEventId() {
-        if (WorkflowExecutionStarted == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionCancelRequested == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionCompleted == type()) { return historyEvent().getEventId(); }
-        if (CompleteWorkflowExecutionFailed == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionFailed == type()) { return historyEvent().getEventId(); }
-        if (FailWorkflowExecutionFailed == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionTimedOut == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionCanceled == type()) { return historyEvent().getEventId(); }
-        if (CancelWorkflowExecutionFailed == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionContinuedAsNew == type()) { return historyEvent().getEventId(); }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionTerminated == type()) { return historyEvent().getEventId(); }
-        if (DecisionTaskScheduled == type()) { return historyEvent().getEventId(); }
-        if (DecisionTaskStarted == type()) { return historyEvent().getEventId(); }
-        if (DecisionTaskCompleted == type()) { return historyEvent().getDecisionTaskCompletedEventAttributes().getScheduledEventId(); }
-        if (DecisionTaskTimedOut == type()) { return historyEvent().getEventId(); }
-        if (ActivityTaskScheduled == type()) { return historyEvent().getEventId(); }
-        if (ScheduleActivityTaskFailed == type()) { return historyEvent().getEventId(); }
-        if (ActivityTaskStarted == type()) { return historyEvent().getActivityTaskStartedEventAttributes().getScheduledEventId(); }
-        if (ActivityTaskCompleted == type()) { return historyEvent().getActivityTaskCompletedEventAttributes().getScheduledEventId(); }
-        if (ActivityTaskFailed == type()) { return historyEvent().getActivityTaskFailedEventAttributes().getScheduledEventId(); }
-        if (ActivityTaskTimedOut == type()) { return historyEvent().getActivityTaskTimedOutEventAttributes().getScheduledEventId(); }
-        if (ActivityTaskCanceled == type()) { return historyEvent().getActivityTaskCanceledEventAttributes().getScheduledEventId(); }
-        if (ActivityTaskCancelRequested == type()) { return historyEvent().getEventId(); }
-        if (RequestCancelActivityTaskFailed == type()) { return historyEvent().getEventId(); }
-        if (WorkflowExecutionSignaled == type()) { return historyEvent().getEventId(); }
-        if (MarkerRecorded == type()) { return historyEvent().getEventId(); }
-        if (RecordMarkerFailed == type()) { return historyEvent().getEventId(); }
-        if (TimerStarted == type()) { return historyEvent().getEventId(); }
-        if (StartTimerFailed == type()) { return null; }
-        if (TimerFired == type()) { return historyEvent().getTimerFiredEventAttributes().getStartedEventId(); }
-        if (TimerCanceled == type()) { return historyEvent().getTimerCanceledEventAttributes().getStartedEventId(); }
-        if (CancelTimerFailed == type()) { return historyEvent().getEventId(); }
-        if (StartChildWorkflowExecutionInitiated == type()) { return historyEvent().getEventId(); }
-        if (StartChildWorkflowExecutionFailed == type()) { return historyEvent().getStartChildWorkflowExecutionFailedEventAttributes().getInitiatedEventId(); }
-        if (ChildWorkflowExecutionStarted == type()) { return historyEvent().getChildWorkflowExecutionStartedEventAttributes().getInitiatedEventId(); }
-        if (ChildWorkflowExecutionCompleted == type()) { return historyEvent().getChildWorkflowExecutionCompletedEventAttributes().getInitiatedEventId(); }
-        if (ChildWorkflowExecutionFailed == type()) { return historyEvent().getChildWorkflowExecutionFailedEventAttributes().getInitiatedEventId(); }
-        if (ChildWorkflowExecutionTimedOut == type()) { return historyEvent().getChildWorkflowExecutionTimedOutEventAttributes().getInitiatedEventId(); }
-        if (ChildWorkflowExecutionCanceled == type()) { return historyEvent().getChildWorkflowExecutionCanceledEventAttributes().getInitiatedEventId(); }
-        if (ChildWorkflowExecutionTerminated == type()) { return historyEvent().getChildWorkflowExecutionTerminatedEventAttributes().getInitiatedEventId(); }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return historyEvent().getEventId(); }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return historyEvent().getSignalExternalWorkflowExecutionFailedEventAttributes().getInitiatedEventId(); }
-        if (ExternalWorkflowExecutionSignaled == type()) { return historyEvent().getExternalWorkflowExecutionSignaledEventAttributes().getInitiatedEventId(); }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return historyEvent().getEventId(); }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return historyEvent().getEventId(); }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return historyEvent().getEventId(); }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionCancelRequested:
+            case WorkflowExecutionCompleted:
+            case CompleteWorkflowExecutionFailed:
+            case WorkflowExecutionFailed:
+            case FailWorkflowExecutionFailed:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionCanceled:
+            case CancelWorkflowExecutionFailed:
+            case WorkflowExecutionContinuedAsNew:
+            case ContinueAsNewWorkflowExecutionFailed:
+            case WorkflowExecutionTerminated:
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskTimedOut:
+            case ActivityTaskScheduled:
+            case ScheduleActivityTaskFailed:
+            case ActivityTaskCancelRequested:
+            case RequestCancelActivityTaskFailed:
+            case WorkflowExecutionSignaled:
+            case MarkerRecorded:
+            case RecordMarkerFailed:
+            case TimerStarted:
+            case CancelTimerFailed:
+            case StartChildWorkflowExecutionInitiated:
+            case SignalExternalWorkflowExecutionInitiated:
+            case RequestCancelExternalWorkflowExecutionInitiated:
+            case RequestCancelExternalWorkflowExecutionFailed:
+            case ExternalWorkflowExecutionCancelRequested:
+                return historyEvent().getEventId();
+            case DecisionTaskCompleted:
+                return historyEvent().getDecisionTaskCompletedEventAttributes().getScheduledEventId();
+            case ActivityTaskStarted:
+                return historyEvent().getActivityTaskStartedEventAttributes().getScheduledEventId();
+            case ActivityTaskCompleted:
+                return historyEvent().getActivityTaskCompletedEventAttributes().getScheduledEventId();
+            case ActivityTaskFailed:
+                return historyEvent().getActivityTaskFailedEventAttributes().getScheduledEventId();
+            case ActivityTaskTimedOut:
+                return historyEvent().getActivityTaskTimedOutEventAttributes().getScheduledEventId();
+            case ActivityTaskCanceled:
+                return historyEvent().getActivityTaskCanceledEventAttributes().getScheduledEventId();
+            case StartTimerFailed:
+                return null;
+            case TimerFired:
+                return historyEvent().getTimerFiredEventAttributes().getStartedEventId();
+            case TimerCanceled:
+                return historyEvent().getTimerCanceledEventAttributes().getStartedEventId();
+            case StartChildWorkflowExecutionFailed:
+                return historyEvent().getStartChildWorkflowExecutionFailedEventAttributes().getInitiatedEventId();
+            case ChildWorkflowExecutionStarted:
+                return historyEvent().getChildWorkflowExecutionStartedEventAttributes().getInitiatedEventId();
+            case ChildWorkflowExecutionCompleted:
+                return historyEvent().getChildWorkflowExecutionCompletedEventAttributes().getInitiatedEventId();
+            case ChildWorkflowExecutionFailed:
+                return historyEvent().getChildWorkflowExecutionFailedEventAttributes().getInitiatedEventId();
+            case ChildWorkflowExecutionTimedOut:
+                return historyEvent().getChildWorkflowExecutionTimedOutEventAttributes().getInitiatedEventId();
+            case ChildWorkflowExecutionCanceled:
+                return historyEvent().getChildWorkflowExecutionCanceledEventAttributes().getInitiatedEventId();
+            case ChildWorkflowExecutionTerminated:
+                return historyEvent().getChildWorkflowExecutionTerminatedEventAttributes().getInitiatedEventId();
+            case SignalExternalWorkflowExecutionFailed:
+                return historyEvent().getSignalExternalWorkflowExecutionFailedEventAttributes().getInitiatedEventId();
+            case ExternalWorkflowExecutionSignaled:
+                return historyEvent().getExternalWorkflowExecutionSignaledEventAttributes().getInitiatedEventId();
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
     }
 
+    @Value.Lazy
+    @Nullable
     public ActionId actionId() {
-        if (WorkflowExecutionStarted == type()) { return null; }
-        if (WorkflowExecutionCancelRequested == type()) { return null; }
-        if (WorkflowExecutionCompleted == type()) { return null; }
-        if (CompleteWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionFailed == type()) { return null; }
-        if (FailWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTimedOut == type()) { return null; }
-        if (WorkflowExecutionCanceled == type()) { return null; }
-        if (CancelWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionContinuedAsNew == type()) { return null; }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTerminated == type()) { return null; }
-        if (DecisionTaskScheduled == type()) { return null; }
-        if (DecisionTaskStarted == type()) { return null; }
-        if (DecisionTaskCompleted == type()) { return null; }
-        if (DecisionTaskTimedOut == type()) { return null; }
-        if (ActivityTaskScheduled == type()) { return ActionId.of(historyEvent().getActivityTaskScheduledEventAttributes().getActivityId()); }
-        if (ScheduleActivityTaskFailed == type()) { return ActionId.of(historyEvent().getScheduleActivityTaskFailedEventAttributes().getActivityId()); }
-        if (ActivityTaskStarted == type()) {
-            long scheduledEventId = historyEvent().getActivityTaskStartedEventAttributes().getScheduledEventId();
-            Optional<HistoryEvent> scheduledEvent = historyEvents().stream().filter(he -> he.getEventId() == scheduledEventId).findFirst();
-            assert scheduledEvent.isPresent() : "If we have task started then there must be scheduled event";
-            return ImmutableEvent.builder().from(this).historyEvent(scheduledEvent.get()).build().actionId();
-        }
-        if (ActivityTaskCompleted == type()) {
-            long scheduledEventId = historyEvent().getActivityTaskCompletedEventAttributes().getScheduledEventId();
-            Optional<HistoryEvent> scheduledEvent = historyEvents().stream().filter(he -> he.getEventId() == scheduledEventId).findFirst();
-            assert scheduledEvent.isPresent() : "If we have task completed then there must be scheduled event";
-            return ImmutableEvent.builder().from(this).historyEvent(scheduledEvent.get()).build().actionId();
-        }
-        if (ActivityTaskFailed == type()) {
-            long scheduledEventId = historyEvent().getActivityTaskFailedEventAttributes().getScheduledEventId();
-            Optional<HistoryEvent> scheduledEvent = historyEvents().stream().filter(he -> he.getEventId() == scheduledEventId).findFirst();
-            assert scheduledEvent.isPresent() : "If we have task failed then there must be scheduled event";
-            return ImmutableEvent.builder().from(this).historyEvent(scheduledEvent.get()).build().actionId();
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionCancelRequested:
+            case WorkflowExecutionCompleted:
+            case CompleteWorkflowExecutionFailed:
+            case WorkflowExecutionFailed:
+            case FailWorkflowExecutionFailed:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionCanceled:
+            case CancelWorkflowExecutionFailed:
+            case WorkflowExecutionContinuedAsNew:
+            case ContinueAsNewWorkflowExecutionFailed:
+            case WorkflowExecutionTerminated:
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskCompleted:
+            case DecisionTaskTimedOut:
+            case ActivityTaskCancelRequested:
+            case RequestCancelActivityTaskFailed:
+            case RecordMarkerFailed:
+            case SignalExternalWorkflowExecutionFailed:
+            case ExternalWorkflowExecutionSignaled:
+            case ExternalWorkflowExecutionCancelRequested:
+                return null;
+            case ActivityTaskScheduled:
+                return ActionId.of(historyEvent().getActivityTaskScheduledEventAttributes().getActivityId());
+            case ScheduleActivityTaskFailed:
+                return ActionId.of(historyEvent().getScheduleActivityTaskFailedEventAttributes().getActivityId());
+            case ActivityTaskStarted:
+                return scheduledActionId(historyEvent().getActivityTaskStartedEventAttributes().getScheduledEventId());
+            case ActivityTaskCompleted:
+                return scheduledActionId(historyEvent().getActivityTaskCompletedEventAttributes().getScheduledEventId());
+            case ActivityTaskFailed:
+                return scheduledActionId(historyEvent().getActivityTaskFailedEventAttributes().getScheduledEventId());
+            case ActivityTaskTimedOut:
+                return scheduledActionId(historyEvent().getActivityTaskTimedOutEventAttributes().getScheduledEventId());
+            case ActivityTaskCanceled:
+                return scheduledActionId(historyEvent().getActivityTaskCanceledEventAttributes().getScheduledEventId());
+            case WorkflowExecutionSignaled:
+                return ActionId.of(historyEvent().getWorkflowExecutionSignaledEventAttributes().getSignalName());
+            case MarkerRecorded:
+                return ActionId.of(historyEvent().getMarkerRecordedEventAttributes().getMarkerName());
+            case TimerStarted:
+                return ActionId.of(historyEvent().getTimerStartedEventAttributes().getTimerId());
+            case StartTimerFailed:
+                return ActionId.of(historyEvent().getStartTimerFailedEventAttributes().getTimerId());
+            case TimerFired:
+                return ActionId.of(historyEvent().getTimerFiredEventAttributes().getTimerId());
+            case TimerCanceled:
+                return ActionId.of(historyEvent().getTimerCanceledEventAttributes().getTimerId());
+            case CancelTimerFailed:
+                return ActionId.of(historyEvent().getCancelTimerFailedEventAttributes().getTimerId());
+            case StartChildWorkflowExecutionInitiated:
+                return ActionId.of(historyEvent().getStartChildWorkflowExecutionInitiatedEventAttributes().getControl());
+            case StartChildWorkflowExecutionFailed:
+                return ActionId.of(historyEvent().getStartChildWorkflowExecutionFailedEventAttributes().getControl());
+            case ChildWorkflowExecutionStarted:
+                return initiatedActionId(historyEvent().getChildWorkflowExecutionStartedEventAttributes().getInitiatedEventId());
+            case ChildWorkflowExecutionCompleted:
+                return initiatedActionId(historyEvent().getChildWorkflowExecutionCompletedEventAttributes().getInitiatedEventId());
+            case ChildWorkflowExecutionFailed:
+                return initiatedActionId(historyEvent().getChildWorkflowExecutionFailedEventAttributes().getInitiatedEventId());
+            case ChildWorkflowExecutionTimedOut:
+                return initiatedActionId(historyEvent().getChildWorkflowExecutionTimedOutEventAttributes().getInitiatedEventId());
+            case ChildWorkflowExecutionCanceled:
+                return initiatedActionId(historyEvent().getChildWorkflowExecutionCanceledEventAttributes().getInitiatedEventId());
+            case ChildWorkflowExecutionTerminated:
+                return initiatedActionId(historyEvent().getChildWorkflowExecutionTerminatedEventAttributes().getInitiatedEventId());
+            case SignalExternalWorkflowExecutionInitiated:
+                return ActionId.of(historyEvent().getSignalExternalWorkflowExecutionInitiatedEventAttributes().getSignalName());
+            case RequestCancelExternalWorkflowExecutionInitiated:
+                return ActionId.of(historyEvent().getRequestCancelExternalWorkflowExecutionInitiatedEventAttributes().getControl());
+            case RequestCancelExternalWorkflowExecutionFailed:
+                return ActionId.of(historyEvent().getRequestCancelExternalWorkflowExecutionFailedEventAttributes().getControl());
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
         }
-        if (ActivityTaskTimedOut == type()) {
-            long scheduledEventId = historyEvent().getActivityTaskTimedOutEventAttributes().getScheduledEventId();
-            Optional<HistoryEvent> scheduledEvent = historyEvents().stream().filter(he -> he.getEventId() == scheduledEventId).findFirst();
-            assert scheduledEvent.isPresent() : "If we have task timeout then there must be scheduled event";
-            return ImmutableEvent.builder().from(this).historyEvent(scheduledEvent.get()).build().actionId();
-        }
-        if (ActivityTaskCanceled == type()) {
-            long scheduledEventId = historyEvent().getActivityTaskCanceledEventAttributes().getScheduledEventId();
-            Optional<HistoryEvent> scheduledEvent = historyEvents().stream().filter(he -> he.getEventId() == scheduledEventId).findFirst();
-            assert scheduledEvent.isPresent() : "If we have task cancelled then there must be scheduled event";
-            return ImmutableEvent.builder().from(this).historyEvent(scheduledEvent.get()).build().actionId();
-        }
-        if (ActivityTaskCancelRequested == type()) { return null; }
-        if (RequestCancelActivityTaskFailed == type()) { return null; }
-        if (WorkflowExecutionSignaled == type()) { return ActionId.of(historyEvent().getWorkflowExecutionSignaledEventAttributes().getSignalName()); }
-        if (MarkerRecorded == type()) { return ActionId.of(historyEvent().getMarkerRecordedEventAttributes().getMarkerName()); }
-        if (RecordMarkerFailed == type()) { return null; }
-        if (TimerStarted == type()) { return ActionId.of(historyEvent().getTimerStartedEventAttributes().getTimerId()); }
-        if (StartTimerFailed == type()) { return ActionId.of(historyEvent().getStartTimerFailedEventAttributes().getTimerId()); }
-        if (TimerFired == type()) { return ActionId.of(historyEvent().getTimerFiredEventAttributes().getTimerId()); }
-        if (TimerCanceled == type()) { return ActionId.of(historyEvent().getTimerCanceledEventAttributes().getTimerId()); }
-        if (CancelTimerFailed == type()) { return ActionId.of(historyEvent().getCancelTimerFailedEventAttributes().getTimerId()); }
-        if (StartChildWorkflowExecutionInitiated == type()) { return ActionId.of(historyEvent().getStartChildWorkflowExecutionInitiatedEventAttributes().getControl()); }
-        if (StartChildWorkflowExecutionFailed == type()) { return null; }
-        if (ChildWorkflowExecutionStarted == type()) { return null; }
-        if (ChildWorkflowExecutionCompleted == type()) { return null; }
-        if (ChildWorkflowExecutionFailed == type()) { return null; }
-        if (ChildWorkflowExecutionTimedOut == type()) { return null; }
-        if (ChildWorkflowExecutionCanceled == type()) { return null; }
-        if (ChildWorkflowExecutionTerminated == type()) { return null; }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return ActionId.of(historyEvent().getSignalExternalWorkflowExecutionInitiatedEventAttributes().getSignalName()); }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return null; }
-        if (ExternalWorkflowExecutionSignaled == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return ActionId.of(historyEvent().getRequestCancelExternalWorkflowExecutionInitiatedEventAttributes().getControl()); }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return ActionId.of(historyEvent().getRequestCancelExternalWorkflowExecutionFailedEventAttributes().getControl()); }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return null; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
     }
 
+    @Value.Lazy
+    @Nullable
     public String input() {
-        if (WorkflowExecutionStarted == type()) { return historyEvent().getWorkflowExecutionStartedEventAttributes().getInput(); }
-        if (WorkflowExecutionCancelRequested == type()) { return null; }
-        if (WorkflowExecutionCompleted == type()) { return null; }
-        if (CompleteWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionFailed == type()) { return null; }
-        if (FailWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTimedOut == type()) { return null; }
-        if (WorkflowExecutionCanceled == type()) { return null; }
-        if (CancelWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionContinuedAsNew == type()) { return historyEvent().getWorkflowExecutionContinuedAsNewEventAttributes().getInput(); }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTerminated == type()) { return null; }
-        if (DecisionTaskScheduled == type()) { return null; }
-        if (DecisionTaskStarted == type()) { return null; }
-        if (DecisionTaskCompleted == type()) { return null; }
-        if (DecisionTaskTimedOut == type()) { return null; }
-        if (ActivityTaskScheduled == type()) { return historyEvent().getActivityTaskScheduledEventAttributes().getInput(); }
-        if (ScheduleActivityTaskFailed == type()) { return null; }
-        if (ActivityTaskStarted == type()) { return null; }
-        if (ActivityTaskCompleted == type()) { return null; }
-        if (ActivityTaskFailed == type()) { return null; }
-        if (ActivityTaskTimedOut == type()) { return null; }
-        if (ActivityTaskCanceled == type()) { return null; }
-        if (ActivityTaskCancelRequested == type()) { return null; }
-        if (RequestCancelActivityTaskFailed == type()) { return null; }
-        if (WorkflowExecutionSignaled == type()) { return historyEvent().getWorkflowExecutionSignaledEventAttributes().getInput(); }
-        if (MarkerRecorded == type()) { return historyEvent().getMarkerRecordedEventAttributes().getDetails(); }
-        if (RecordMarkerFailed == type()) { return null; }
-        if (TimerStarted == type()) { return "Timer Started"; }
-        if (StartTimerFailed == type()) { return null; }
-        if (TimerFired == type()) { return null; }
-        if (TimerCanceled == type()) { return null; }
-        if (CancelTimerFailed == type()) { return null; }
-        if (StartChildWorkflowExecutionInitiated == type()) { return historyEvent().getStartChildWorkflowExecutionInitiatedEventAttributes().getInput(); }
-        if (StartChildWorkflowExecutionFailed == type()) { return null; }
-        if (ChildWorkflowExecutionStarted == type()) { return null; }
-        if (ChildWorkflowExecutionCompleted == type()) { return null; }
-        if (ChildWorkflowExecutionFailed == type()) { return null; }
-        if (ChildWorkflowExecutionTimedOut == type()) { return null; }
-        if (ChildWorkflowExecutionCanceled == type()) { return null; }
-        if (ChildWorkflowExecutionTerminated == type()) { return null; }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return historyEvent().getSignalExternalWorkflowExecutionInitiatedEventAttributes().getInput(); }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return null; }
-        if (ExternalWorkflowExecutionSignaled == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return null; }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return null; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+                return historyEvent().getWorkflowExecutionStartedEventAttributes().getInput();
+            case WorkflowExecutionCancelRequested:
+            case WorkflowExecutionCompleted:
+            case CompleteWorkflowExecutionFailed:
+            case WorkflowExecutionFailed:
+            case FailWorkflowExecutionFailed:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionCanceled:
+            case CancelWorkflowExecutionFailed:
+            case ContinueAsNewWorkflowExecutionFailed:
+            case WorkflowExecutionTerminated:
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskCompleted:
+            case DecisionTaskTimedOut:
+            case ScheduleActivityTaskFailed:
+            case ActivityTaskStarted:
+            case ActivityTaskCompleted:
+            case ActivityTaskFailed:
+            case ActivityTaskTimedOut:
+            case ActivityTaskCanceled:
+            case ActivityTaskCancelRequested:
+            case RequestCancelActivityTaskFailed:
+            case RecordMarkerFailed:
+            case StartTimerFailed:
+            case TimerFired:
+            case TimerCanceled:
+            case CancelTimerFailed:
+            case StartChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionStarted:
+            case ChildWorkflowExecutionCompleted:
+            case ChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionTimedOut:
+            case ChildWorkflowExecutionCanceled:
+            case ChildWorkflowExecutionTerminated:
+            case SignalExternalWorkflowExecutionFailed:
+            case ExternalWorkflowExecutionSignaled:
+            case RequestCancelExternalWorkflowExecutionInitiated:
+            case RequestCancelExternalWorkflowExecutionFailed:
+            case ExternalWorkflowExecutionCancelRequested:
+                return null;
+            case WorkflowExecutionContinuedAsNew:
+                return historyEvent().getWorkflowExecutionContinuedAsNewEventAttributes().getInput();
+            case ActivityTaskScheduled:
+                return historyEvent().getActivityTaskScheduledEventAttributes().getInput();
+            case WorkflowExecutionSignaled:
+                return historyEvent().getWorkflowExecutionSignaledEventAttributes().getInput();
+            case MarkerRecorded:
+                return historyEvent().getMarkerRecordedEventAttributes().getDetails();
+            case TimerStarted:
+                return "Timer Started";
+            case StartChildWorkflowExecutionInitiated:
+                return historyEvent().getStartChildWorkflowExecutionInitiatedEventAttributes().getInput();
+            case SignalExternalWorkflowExecutionInitiated:
+                return historyEvent().getSignalExternalWorkflowExecutionInitiatedEventAttributes().getInput();
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
     }
 
+    @Value.Lazy
+    @Nullable
     public String control() {
-        if (WorkflowExecutionStarted == type()) { return null; }
-        if (WorkflowExecutionCancelRequested == type()) { return null; }
-        if (WorkflowExecutionCompleted == type()) { return null; }
-        if (CompleteWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionFailed == type()) { return null; }
-        if (FailWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTimedOut == type()) { return null; }
-        if (WorkflowExecutionCanceled == type()) { return null; }
-        if (CancelWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionContinuedAsNew == type()) { return null; }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTerminated == type()) { return null; }
-        if (DecisionTaskScheduled == type()) { return null; }
-        if (DecisionTaskStarted == type()) { return null; }
-        if (DecisionTaskCompleted == type()) { return null; }
-        if (DecisionTaskTimedOut == type()) { return null; }
-        if (ActivityTaskScheduled == type()) { return historyEvent().getActivityTaskScheduledEventAttributes().getControl(); }
-        if (ScheduleActivityTaskFailed == type()) { return null; }
-        if (ActivityTaskStarted == type()) { return null; }
-        if (ActivityTaskCompleted == type()) { return null; }
-        if (ActivityTaskFailed == type()) { return null; }
-        if (ActivityTaskTimedOut == type()) { return null; }
-        if (ActivityTaskCanceled == type()) { return null; }
-        if (ActivityTaskCancelRequested == type()) { return null; }
-        if (RequestCancelActivityTaskFailed == type()) { return null; }
-        if (WorkflowExecutionSignaled == type()) { return null; }
-        if (MarkerRecorded == type()) { return null; }
-        if (RecordMarkerFailed == type()) { return null; }
-        if (TimerStarted == type()) { return historyEvent().getTimerStartedEventAttributes().getControl(); }
-        if (StartTimerFailed == type()) { return null; }
-        if (TimerFired == type()) { return null; }
-        if (TimerCanceled == type()) { return null; }
-        if (CancelTimerFailed == type()) { return null; }
-        if (StartChildWorkflowExecutionInitiated == type()) { return historyEvent().getStartChildWorkflowExecutionInitiatedEventAttributes().getControl(); }
-        if (StartChildWorkflowExecutionFailed == type()) { return historyEvent().getStartChildWorkflowExecutionFailedEventAttributes().getControl(); }
-        if (ChildWorkflowExecutionStarted == type()) { return null; }
-        if (ChildWorkflowExecutionCompleted == type()) { return null; }
-        if (ChildWorkflowExecutionFailed == type()) { return null; }
-        if (ChildWorkflowExecutionTimedOut == type()) { return null; }
-        if (ChildWorkflowExecutionCanceled == type()) { return null; }
-        if (ChildWorkflowExecutionTerminated == type()) { return null; }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return historyEvent().getSignalExternalWorkflowExecutionInitiatedEventAttributes().getControl(); }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return historyEvent().getSignalExternalWorkflowExecutionFailedEventAttributes().getControl(); }
-        if (ExternalWorkflowExecutionSignaled == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return historyEvent().getRequestCancelExternalWorkflowExecutionInitiatedEventAttributes().getControl(); }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return historyEvent().getRequestCancelExternalWorkflowExecutionFailedEventAttributes().getControl(); }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return null; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionCancelRequested:
+            case WorkflowExecutionCompleted:
+            case CompleteWorkflowExecutionFailed:
+            case WorkflowExecutionFailed:
+            case FailWorkflowExecutionFailed:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionCanceled:
+            case CancelWorkflowExecutionFailed:
+            case WorkflowExecutionContinuedAsNew:
+            case ContinueAsNewWorkflowExecutionFailed:
+            case WorkflowExecutionTerminated:
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskCompleted:
+            case DecisionTaskTimedOut:
+            case ScheduleActivityTaskFailed:
+            case ActivityTaskStarted:
+            case ActivityTaskCompleted:
+            case ActivityTaskFailed:
+            case ActivityTaskTimedOut:
+            case ActivityTaskCanceled:
+            case ActivityTaskCancelRequested:
+            case RequestCancelActivityTaskFailed:
+            case WorkflowExecutionSignaled:
+            case MarkerRecorded:
+            case RecordMarkerFailed:
+            case StartTimerFailed:
+            case TimerFired:
+            case TimerCanceled:
+            case CancelTimerFailed:
+            case ChildWorkflowExecutionStarted:
+            case ChildWorkflowExecutionCompleted:
+            case ChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionTimedOut:
+            case ChildWorkflowExecutionCanceled:
+            case ChildWorkflowExecutionTerminated:
+            case ExternalWorkflowExecutionSignaled:
+            case ExternalWorkflowExecutionCancelRequested:
+                return null;
+            case ActivityTaskScheduled:
+                return historyEvent().getActivityTaskScheduledEventAttributes().getControl();
+            case TimerStarted:
+                return historyEvent().getTimerStartedEventAttributes().getControl();
+            case StartChildWorkflowExecutionInitiated:
+                return historyEvent().getStartChildWorkflowExecutionInitiatedEventAttributes().getControl();
+            case StartChildWorkflowExecutionFailed:
+                return historyEvent().getStartChildWorkflowExecutionFailedEventAttributes().getControl();
+            case SignalExternalWorkflowExecutionInitiated:
+                return historyEvent().getSignalExternalWorkflowExecutionInitiatedEventAttributes().getControl();
+            case SignalExternalWorkflowExecutionFailed:
+                return historyEvent().getSignalExternalWorkflowExecutionFailedEventAttributes().getControl();
+            case RequestCancelExternalWorkflowExecutionInitiated:
+                return historyEvent().getRequestCancelExternalWorkflowExecutionInitiatedEventAttributes().getControl();
+            case RequestCancelExternalWorkflowExecutionFailed:
+                return historyEvent().getRequestCancelExternalWorkflowExecutionFailedEventAttributes().getControl();
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
     }
 
+    @Value.Lazy
+    @Nullable
     public String output() {
-        if (WorkflowExecutionStarted == type()) { return null; }
-        if (WorkflowExecutionCancelRequested == type()) { return null; }
-        if (WorkflowExecutionCompleted == type()) { return historyEvent().getWorkflowExecutionCompletedEventAttributes().getResult(); }
-        if (CompleteWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionFailed == type()) { return null; }
-        if (FailWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTimedOut == type()) { return null; }
-        if (WorkflowExecutionCanceled == type()) { return null; }
-        if (CancelWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionContinuedAsNew == type()) { return null; }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return null; }
-        if (WorkflowExecutionTerminated == type()) { return null; }
-        if (DecisionTaskScheduled == type()) { return null; }
-        if (DecisionTaskStarted == type()) { return null; }
-        if (DecisionTaskCompleted == type()) { return historyEvent().getDecisionTaskCompletedEventAttributes().getExecutionContext(); }
-        if (DecisionTaskTimedOut == type()) { return null; }
-        if (ActivityTaskScheduled == type()) { return null; }
-        if (ScheduleActivityTaskFailed == type()) { return null; }
-        if (ActivityTaskStarted == type()) { return null; }
-        if (ActivityTaskCompleted == type()) { return historyEvent().getActivityTaskCompletedEventAttributes().getResult(); }
-        if (ActivityTaskFailed == type()) { return null; }
-        if (ActivityTaskTimedOut == type()) { return null; }
-        if (ActivityTaskCanceled == type()) { return null; }
-        if (ActivityTaskCancelRequested == type()) { return null; }
-        if (RequestCancelActivityTaskFailed == type()) { return null; }
-        if (WorkflowExecutionSignaled == type()) { return historyEvent().getWorkflowExecutionSignaledEventAttributes().getInput(); }
-        if (MarkerRecorded == type()) { return historyEvent().getMarkerRecordedEventAttributes().getDetails(); }
-        if (RecordMarkerFailed == type()) { return null; }
-        if (TimerStarted == type()) { return null; }
-        if (StartTimerFailed == type()) { return null; }
-        if (TimerFired == type()) { return "Timer Fired"; }
-        if (TimerCanceled == type()) { return "Timer Canceled"; }
-        if (CancelTimerFailed == type()) { return null; }
-        if (StartChildWorkflowExecutionInitiated == type()) { return null; }
-        if (StartChildWorkflowExecutionFailed == type()) { return null; }
-        if (ChildWorkflowExecutionStarted == type()) { return null; }
-        if (ChildWorkflowExecutionCompleted == type()) { return historyEvent().getChildWorkflowExecutionCompletedEventAttributes().getResult(); }
-        if (ChildWorkflowExecutionFailed == type()) { return null; }
-        if (ChildWorkflowExecutionTimedOut == type()) { return null; }
-        if (ChildWorkflowExecutionCanceled == type()) { return null; }
-        if (ChildWorkflowExecutionTerminated == type()) { return null; }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return null; }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return null; }
-        if (ExternalWorkflowExecutionSignaled == type()) { return historyEvent().getExternalWorkflowExecutionSignaledEventAttributes().getWorkflowExecution().getRunId(); }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return null; }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return null; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionCancelRequested:
+            case CompleteWorkflowExecutionFailed:
+            case WorkflowExecutionFailed:
+            case FailWorkflowExecutionFailed:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionCanceled:
+            case CancelWorkflowExecutionFailed:
+            case WorkflowExecutionContinuedAsNew:
+            case ContinueAsNewWorkflowExecutionFailed:
+            case WorkflowExecutionTerminated:
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskTimedOut:
+            case ActivityTaskScheduled:
+            case ScheduleActivityTaskFailed:
+            case ActivityTaskStarted:
+            case ActivityTaskFailed:
+            case ActivityTaskTimedOut:
+            case ActivityTaskCanceled:
+            case ActivityTaskCancelRequested:
+            case RequestCancelActivityTaskFailed:
+            case RecordMarkerFailed:
+            case TimerStarted:
+            case StartTimerFailed:
+            case CancelTimerFailed:
+            case StartChildWorkflowExecutionInitiated:
+            case StartChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionStarted:
+            case ChildWorkflowExecutionFailed:
+            case ChildWorkflowExecutionTimedOut:
+            case ChildWorkflowExecutionCanceled:
+            case ChildWorkflowExecutionTerminated:
+            case SignalExternalWorkflowExecutionInitiated:
+            case SignalExternalWorkflowExecutionFailed:
+            case RequestCancelExternalWorkflowExecutionInitiated:
+            case RequestCancelExternalWorkflowExecutionFailed:
+            case ExternalWorkflowExecutionCancelRequested:
+                return null;
+            case WorkflowExecutionCompleted:
+                return historyEvent().getWorkflowExecutionCompletedEventAttributes().getResult();
+            case DecisionTaskCompleted:
+                return historyEvent().getDecisionTaskCompletedEventAttributes().getExecutionContext();
+            case ActivityTaskCompleted:
+                return historyEvent().getActivityTaskCompletedEventAttributes().getResult();
+            case WorkflowExecutionSignaled:
+                return historyEvent().getWorkflowExecutionSignaledEventAttributes().getInput();
+            case MarkerRecorded:
+                return historyEvent().getMarkerRecordedEventAttributes().getDetails();
+            case TimerFired:
+                return "Timer Fired";
+            case TimerCanceled:
+                return "Timer Canceled";
+            case ChildWorkflowExecutionCompleted:
+                return historyEvent().getChildWorkflowExecutionCompletedEventAttributes().getResult();
+            case ExternalWorkflowExecutionSignaled:
+                return historyEvent().getExternalWorkflowExecutionSignaledEventAttributes().getWorkflowExecution().getRunId();
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
     }
 
+    @Value.Lazy
+    @Nullable
     public String reason() {
-        if (WorkflowExecutionStarted == type()) { return null; }
-        if (WorkflowExecutionCancelRequested == type()) { return "Workflow Execution Cancel Requested"; }
-        if (WorkflowExecutionCompleted == type()) { return null; }
-        if (CompleteWorkflowExecutionFailed == type()) { return "Complete Workflow Execution Failed"; }
-        if (WorkflowExecutionFailed == type()) { return "Workflow Execution Failed"; }
-        if (FailWorkflowExecutionFailed == type()) { return "Fail Workflow Execution Failed"; }
-        if (WorkflowExecutionTimedOut == type()) { return "Workflow Execution Timed Out"; }
-        if (WorkflowExecutionCanceled == type()) { return "Workflow Execution Canceled"; }
-        if (CancelWorkflowExecutionFailed == type()) { return "Cancel Workflow Execution Failed"; }
-        if (WorkflowExecutionContinuedAsNew == type()) { return null; }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return "Continue As New Workflow Execution Failed"; }
-        if (WorkflowExecutionTerminated == type()) { return "Workflow Execution Terminated"; }
-        if (DecisionTaskScheduled == type()) { return null; }
-        if (DecisionTaskStarted == type()) { return null; }
-        if (DecisionTaskCompleted == type()) { return null; }
-        if (DecisionTaskTimedOut == type()) { return null; }
-        if (ActivityTaskScheduled == type()) { return null; }
-        if (ScheduleActivityTaskFailed == type()) { return "Schedule Activity Task Failed"; }
-        if (ActivityTaskStarted == type()) { return null; }
-        if (ActivityTaskCompleted == type()) { return null; }
-        if (ActivityTaskFailed == type()) { return historyEvent().getActivityTaskFailedEventAttributes().getReason(); }
-        if (ActivityTaskTimedOut == type()) { return historyEvent().getActivityTaskTimedOutEventAttributes().getTimeoutType(); }
-        if (ActivityTaskCanceled == type()) { return "Activity Task Canceled"; }
-        if (ActivityTaskCancelRequested == type()) { return "Activity Task Cancel Requested"; }
-        if (RequestCancelActivityTaskFailed == type()) { return "Request Cancel Activity Task Failed"; }
-        if (WorkflowExecutionSignaled == type()) { return null; }
-        if (MarkerRecorded == type()) { return null; }
-        if (RecordMarkerFailed == type()) { return "Record Marker Failed"; }
-        if (TimerStarted == type()) { return null; }
-        if (StartTimerFailed == type()) { return "Start Timer Failed"; }
-        if (TimerFired == type()) { return null; }
-        if (TimerCanceled == type()) { return null; }
-        if (CancelTimerFailed == type()) { return null; }
-        if (StartChildWorkflowExecutionInitiated == type()) { return null; }
-        if (StartChildWorkflowExecutionFailed == type()) { return "Start Child Workflow Execution Failed"; }
-        if (ChildWorkflowExecutionStarted == type()) { return null; }
-        if (ChildWorkflowExecutionCompleted == type()) { return null; }
-        if (ChildWorkflowExecutionFailed == type()) { return historyEvent().getChildWorkflowExecutionFailedEventAttributes().getReason(); }
-        if (ChildWorkflowExecutionTimedOut == type()) { return "Child Workflow Execution Timed Out"; }
-        if (ChildWorkflowExecutionCanceled == type()) { return "Child Workflow Execution Canceled"; }
-        if (ChildWorkflowExecutionTerminated == type()) { return "Child Workflow Execution Terminated"; }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return null; }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return "Signal External Workflow Execution Failed"; }
-        if (ExternalWorkflowExecutionSignaled == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return "Request Cancel External Workflow Execution Failed"; }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return null; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionCompleted:
+            case WorkflowExecutionContinuedAsNew:
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskCompleted:
+            case DecisionTaskTimedOut:
+            case ActivityTaskScheduled:
+            case ActivityTaskStarted:
+            case ActivityTaskCompleted:
+            case WorkflowExecutionSignaled:
+            case MarkerRecorded:
+            case TimerStarted:
+            case TimerFired:
+            case TimerCanceled:
+            case CancelTimerFailed:
+            case StartChildWorkflowExecutionInitiated:
+            case ChildWorkflowExecutionStarted:
+            case ChildWorkflowExecutionCompleted:
+            case SignalExternalWorkflowExecutionInitiated:
+            case ExternalWorkflowExecutionSignaled:
+            case RequestCancelExternalWorkflowExecutionInitiated:
+            case ExternalWorkflowExecutionCancelRequested:
+                return null;
+            case WorkflowExecutionCancelRequested:
+                return "Workflow Execution Cancel Requested";
+            case CompleteWorkflowExecutionFailed:
+                return "Complete Workflow Execution Failed";
+            case WorkflowExecutionFailed:
+                return "Workflow Execution Failed";
+            case FailWorkflowExecutionFailed:
+                return "Fail Workflow Execution Failed";
+            case WorkflowExecutionTimedOut:
+                return "Workflow Execution Timed Out";
+            case WorkflowExecutionCanceled:
+                return "Workflow Execution Canceled";
+            case CancelWorkflowExecutionFailed:
+                return "Cancel Workflow Execution Failed";
+            case ContinueAsNewWorkflowExecutionFailed:
+                return "Continue As New Workflow Execution Failed";
+            case WorkflowExecutionTerminated:
+                return "Workflow Execution Terminated";
+            case ScheduleActivityTaskFailed:
+                return "Schedule Activity Task Failed";
+            case ActivityTaskFailed:
+                return historyEvent().getActivityTaskFailedEventAttributes().getReason();
+            case ActivityTaskTimedOut:
+                return historyEvent().getActivityTaskTimedOutEventAttributes().getTimeoutType();
+            case ActivityTaskCanceled:
+                return "Activity Task Canceled";
+            case ActivityTaskCancelRequested:
+                return "Activity Task Cancel Requested";
+            case RequestCancelActivityTaskFailed:
+                return "Request Cancel Activity Task Failed";
+            case RecordMarkerFailed:
+                return "Record Marker Failed";
+            case StartTimerFailed:
+                return "Start Timer Failed";
+            case StartChildWorkflowExecutionFailed:
+                return "Start Child Workflow Execution Failed";
+            case ChildWorkflowExecutionFailed:
+                return historyEvent().getChildWorkflowExecutionFailedEventAttributes().getReason();
+            case ChildWorkflowExecutionTimedOut:
+                return "Child Workflow Execution Timed Out";
+            case ChildWorkflowExecutionCanceled:
+                return "Child Workflow Execution Canceled";
+            case ChildWorkflowExecutionTerminated:
+                return "Child Workflow Execution Terminated";
+            case SignalExternalWorkflowExecutionFailed:
+                return "Signal External Workflow Execution Failed";
+            case RequestCancelExternalWorkflowExecutionFailed:
+                return "Request Cancel External Workflow Execution Failed";
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
     }
 
+    @Value.Lazy
+    @Nullable
     public String details() {
-        if (WorkflowExecutionStarted == type()) { return null; }
-        if (WorkflowExecutionCancelRequested == type()) { return historyEvent().getWorkflowExecutionCancelRequestedEventAttributes().getCause(); }
-        if (WorkflowExecutionCompleted == type()) { return null; }
-        if (CompleteWorkflowExecutionFailed == type()) { return historyEvent().getCompleteWorkflowExecutionFailedEventAttributes().getCause(); }
-        if (WorkflowExecutionFailed == type()) { return historyEvent().getWorkflowExecutionFailedEventAttributes().getDetails(); }
-        if (FailWorkflowExecutionFailed == type()) { return historyEvent().getFailWorkflowExecutionFailedEventAttributes().getCause(); }
-        if (WorkflowExecutionTimedOut == type()) { return null; }
-        if (WorkflowExecutionCanceled == type()) { return historyEvent().getWorkflowExecutionCanceledEventAttributes().getDetails(); }
-        if (CancelWorkflowExecutionFailed == type()) { return historyEvent().getCancelWorkflowExecutionFailedEventAttributes().getCause(); }
-        if (WorkflowExecutionContinuedAsNew == type()) { return null; }
-        if (ContinueAsNewWorkflowExecutionFailed == type()) { return historyEvent().getContinueAsNewWorkflowExecutionFailedEventAttributes().getCause(); }
-        if (WorkflowExecutionTerminated == type()) { return historyEvent().getWorkflowExecutionTerminatedEventAttributes().getDetails(); }
-        if (DecisionTaskScheduled == type()) { return null; }
-        if (DecisionTaskStarted == type()) { return null; }
-        if (DecisionTaskCompleted == type()) { return null; }
-        if (DecisionTaskTimedOut == type()) { return null; }
-        if (ActivityTaskScheduled == type()) { return null; }
-        if (ScheduleActivityTaskFailed == type()) { return historyEvent().getScheduleActivityTaskFailedEventAttributes().getCause(); }
-        if (ActivityTaskStarted == type()) { return null; }
-        if (ActivityTaskCompleted == type()) { return null; }
-        if (ActivityTaskFailed == type()) { return historyEvent().getActivityTaskFailedEventAttributes().getDetails(); }
-        if (ActivityTaskTimedOut == type()) { return historyEvent().getActivityTaskTimedOutEventAttributes().getDetails(); }
-        if (ActivityTaskCanceled == type()) { return historyEvent().getActivityTaskCanceledEventAttributes().getDetails(); }
-        if (ActivityTaskCancelRequested == type()) { return null; }
-        if (RequestCancelActivityTaskFailed == type()) { return historyEvent().getRequestCancelActivityTaskFailedEventAttributes().getCause(); }
-        if (WorkflowExecutionSignaled == type()) { return null; }
-        if (MarkerRecorded == type()) { return historyEvent().getMarkerRecordedEventAttributes().getDetails(); }
-        if (RecordMarkerFailed == type()) { return historyEvent().getRecordMarkerFailedEventAttributes().getCause(); }
-        if (TimerStarted == type()) { return null; }
-        if (StartTimerFailed == type()) { return historyEvent().getStartTimerFailedEventAttributes().getCause(); }
-        if (TimerFired == type()) { return null; }
-        if (TimerCanceled == type()) { return null; }
-        if (CancelTimerFailed == type()) { return null; }
-        if (StartChildWorkflowExecutionInitiated == type()) { return null; }
-        if (StartChildWorkflowExecutionFailed == type()) { return historyEvent().getStartChildWorkflowExecutionFailedEventAttributes().getCause(); }
-        if (ChildWorkflowExecutionStarted == type()) { return null; }
-        if (ChildWorkflowExecutionCompleted == type()) { return null; }
-        if (ChildWorkflowExecutionFailed == type()) { return historyEvent().getChildWorkflowExecutionFailedEventAttributes().getDetails(); }
-        if (ChildWorkflowExecutionTimedOut == type()) { return historyEvent().getChildWorkflowExecutionTimedOutEventAttributes().getTimeoutType(); }
-        if (ChildWorkflowExecutionCanceled == type()) { return historyEvent().getChildWorkflowExecutionCanceledEventAttributes().getDetails(); }
-        if (ChildWorkflowExecutionTerminated == type()) { return historyEvent().getChildWorkflowExecutionTerminatedEventAttributes().getWorkflowExecution().getRunId(); }
-        if (SignalExternalWorkflowExecutionInitiated == type()) { return null; }
-        if (SignalExternalWorkflowExecutionFailed == type()) { return historyEvent().getSignalExternalWorkflowExecutionFailedEventAttributes().getCause(); }
-        if (ExternalWorkflowExecutionSignaled == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return null; }
-        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return historyEvent().getRequestCancelExternalWorkflowExecutionFailedEventAttributes().getCause(); }
-        if (ExternalWorkflowExecutionCancelRequested == type()) { return null; }
-        throw new IllegalArgumentException("Unknown EventType " + type());
+        switch (type()) {
+            case WorkflowExecutionStarted:
+            case WorkflowExecutionCompleted:
+            case WorkflowExecutionTimedOut:
+            case WorkflowExecutionContinuedAsNew:
+            case DecisionTaskScheduled:
+            case DecisionTaskStarted:
+            case DecisionTaskCompleted:
+            case DecisionTaskTimedOut:
+            case ActivityTaskScheduled:
+            case ActivityTaskStarted:
+            case ActivityTaskCompleted:
+            case ActivityTaskCancelRequested:
+            case WorkflowExecutionSignaled:
+            case TimerStarted:
+            case TimerFired:
+            case TimerCanceled:
+            case CancelTimerFailed:
+            case StartChildWorkflowExecutionInitiated:
+            case ChildWorkflowExecutionStarted:
+            case ChildWorkflowExecutionCompleted:
+            case SignalExternalWorkflowExecutionInitiated:
+            case ExternalWorkflowExecutionSignaled:
+            case RequestCancelExternalWorkflowExecutionInitiated:
+            case ExternalWorkflowExecutionCancelRequested:
+                return null;
+            case WorkflowExecutionCancelRequested:
+                return historyEvent().getWorkflowExecutionCancelRequestedEventAttributes().getCause();
+            case CompleteWorkflowExecutionFailed:
+                return historyEvent().getCompleteWorkflowExecutionFailedEventAttributes().getCause();
+            case WorkflowExecutionFailed:
+                return historyEvent().getWorkflowExecutionFailedEventAttributes().getDetails();
+            case FailWorkflowExecutionFailed:
+                return historyEvent().getFailWorkflowExecutionFailedEventAttributes().getCause();
+            case WorkflowExecutionCanceled:
+                return historyEvent().getWorkflowExecutionCanceledEventAttributes().getDetails();
+            case CancelWorkflowExecutionFailed:
+                return historyEvent().getCancelWorkflowExecutionFailedEventAttributes().getCause();
+            case ContinueAsNewWorkflowExecutionFailed:
+                return historyEvent().getContinueAsNewWorkflowExecutionFailedEventAttributes().getCause();
+            case WorkflowExecutionTerminated:
+                return historyEvent().getWorkflowExecutionTerminatedEventAttributes().getDetails();
+            case ScheduleActivityTaskFailed:
+                return historyEvent().getScheduleActivityTaskFailedEventAttributes().getCause();
+            case ActivityTaskFailed:
+                return historyEvent().getActivityTaskFailedEventAttributes().getDetails();
+            case ActivityTaskTimedOut:
+                return historyEvent().getActivityTaskTimedOutEventAttributes().getDetails();
+            case ActivityTaskCanceled:
+                return historyEvent().getActivityTaskCanceledEventAttributes().getDetails();
+            case RequestCancelActivityTaskFailed:
+                return historyEvent().getRequestCancelActivityTaskFailedEventAttributes().getCause();
+            case MarkerRecorded:
+                return historyEvent().getMarkerRecordedEventAttributes().getDetails();
+            case RecordMarkerFailed:
+                return historyEvent().getRecordMarkerFailedEventAttributes().getCause();
+            case StartTimerFailed:
+                return historyEvent().getStartTimerFailedEventAttributes().getCause();
+            case StartChildWorkflowExecutionFailed:
+                return historyEvent().getStartChildWorkflowExecutionFailedEventAttributes().getCause();
+            case ChildWorkflowExecutionFailed:
+                return historyEvent().getChildWorkflowExecutionFailedEventAttributes().getDetails();
+            case ChildWorkflowExecutionTimedOut:
+                return historyEvent().getChildWorkflowExecutionTimedOutEventAttributes().getTimeoutType();
+            case ChildWorkflowExecutionCanceled:
+                return historyEvent().getChildWorkflowExecutionCanceledEventAttributes().getDetails();
+            case ChildWorkflowExecutionTerminated:
+                return historyEvent().getChildWorkflowExecutionTerminatedEventAttributes().getWorkflowExecution().getRunId();
+            case SignalExternalWorkflowExecutionFailed:
+                return historyEvent().getSignalExternalWorkflowExecutionFailedEventAttributes().getCause();
+            case RequestCancelExternalWorkflowExecutionFailed:
+                return historyEvent().getRequestCancelExternalWorkflowExecutionFailedEventAttributes().getCause();
+            default:
+                throw new IllegalArgumentException("Unknown EventType " + type());
+        }
+    }
+
+    private ActionId scheduledActionId(long scheduledEventId) {
+        ActionId actionId = historyIndex().actionId(scheduledEventId);
+        assert actionId != null : "If we have an activity task event then there must be scheduled event";
+        return actionId;
+    }
+
+    private ActionId initiatedActionId(long initiatedEventId) {
+        ActionId actionId = historyIndex().actionId(initiatedEventId);
+        assert actionId != null : "If we have a child workflow event then there must be an initiated event";
+        return actionId;
     }
 
     @Override
@@ -0,0 +1,148 @@
+package com.github.fzakaria.waterflow.event;
+
+import com.amazonaws.services.simpleworkflow.model.EventType;
+import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An index over the {@link HistoryEvent} of a single decision task.
+ * <p/>
+ * It is built once per decision task and shared by every {@link Event} created from it so that
+ * events referring to earlier events (i.e. the scheduled event of an activity) can be resolved
+ * in constant time without scanning the history.
+ * <p/>
+ * SWF event ids are dense and increasing within a workflow execution, so lookups are a simple
+ * offset into fixed size chunks. Chunks are never modified once filled which lets an index
+ * {@link #append} newer events while sharing its chunks with the index it was created from.
+ */
+public final class HistoryIndex {
+
+    private static final int CHUNK_SHIFT = 10;
+
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private static final HistoryIndex EMPTY = new HistoryIndex(0, 0, new HistoryEvent[0][], new ActionId[0][]);
+
+    private final long firstEventId;
+
+    private final int size;
+
+    private final HistoryEvent[][] eventChunks;
+
+    private final ActionId[][] actionIdChunks;
+
+    private HistoryIndex(long firstEventId, int size, HistoryEvent[][] eventChunks, ActionId[][] actionIdChunks) {
+        this.firstEventId = firstEventId;
+        this.size = size;
+        this.eventChunks = eventChunks;
+        this.actionIdChunks = actionIdChunks;
+    }
+
+    public static HistoryIndex of(List<HistoryEvent> historyEvents) {
+        if (historyEvents.isEmpty()) {
+            return EMPTY;
+        }
+        long firstEventId = historyEvents.stream().mapToLong(HistoryEvent::getEventId).min().getAsLong();
+        return new HistoryIndex(firstEventId, 0, new HistoryEvent[0][], new ActionId[0][]).with(historyEvents);
+    }
+
+    /**
+     * Create a new index that additionally contains the given history events, which must all be newer
+     * than the events of this index. This index is left unchanged.
+     */
+    public HistoryIndex append(List<HistoryEvent> newerHistoryEvents) {
+        if (size == 0) {
+            return of(newerHistoryEvents);
+        }
+        long lastEventId = lastEventId();
+        newerHistoryEvents.forEach(h -> Preconditions.checkArgument(h.getEventId() > lastEventId,
+                "Event %s is not newer than the last indexed event %s", h.getEventId(), lastEventId));
+        return with(newerHistoryEvents);
+    }
+
+    private HistoryIndex with(List<HistoryEvent> historyEvents) {
+        if (historyEvents.isEmpty()) {
+            return this;
+        }
+        long maxEventId = historyEvents.stream().mapToLong(HistoryEvent::getEventId).max().getAsLong();
+        int newSize = Math.max(size, Math.toIntExact(maxEventId - firstEventId + 1));
+        int chunks = (newSize + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+        HistoryEvent[][] newEventChunks = Arrays.copyOf(eventChunks, chunks);
+        ActionId[][] newActionIdChunks = Arrays.copyOf(actionIdChunks, chunks);
+        // the chunks of this index are shared, copy any chunk before it is written to
+        boolean[] copied = new boolean[chunks];
+        for (HistoryEvent historyEvent : historyEvents) {
+            int offset = offset(historyEvent.getEventId());
+            int chunk = offset >> CHUNK_SHIFT;
+            if (!copied[chunk]) {
+                newEventChunks[chunk] = newEventChunks[chunk] == null
+                        ? new HistoryEvent[CHUNK_SIZE] : newEventChunks[chunk].clone();
+                newActionIdChunks[chunk] = newActionIdChunks[chunk] == null
+                        ? new ActionId[CHUNK_SIZE] : newActionIdChunks[chunk].clone();
+                copied[chunk] = true;
+            }
+            newEventChunks[chunk][offset & (CHUNK_SIZE - 1)] = historyEvent;
+            newActionIdChunks[chunk][offset & (CHUNK_SIZE - 1)] = resolveActionId(historyEvent);
+        }
+        return new HistoryIndex(firstEventId, newSize, newEventChunks, newActionIdChunks);
+    }
+
+    /**
+     * @return the id of the most recent event in this index or 0 if it is empty
+     */
+    public long lastEventId() {
+        return size == 0 ? 0 : firstEventId + size - 1;
+    }
+
+    /**
+     * @return the {@link HistoryEvent} with the given id or null if it is not part of this history
+     */
+    @Nullable
+    public HistoryEvent historyEvent(long eventId) {
+        if (!contains(eventId)) {
+            return null;
+        }
+        int offset = offset(eventId);
+        return eventChunks[offset >> CHUNK_SHIFT][offset & (CHUNK_SIZE - 1)];
+    }
+
+    /**
+     * The {@link ActionId} of events that are referred to by later events.
+     * Currently these are the {@link EventType#ActivityTaskScheduled} event for activity tasks and the
+     * {@link EventType#StartChildWorkflowExecutionInitiated} event for child workflows.
+     *
+     * @return the resolved action id or null if the event is unknown or carries no action id
+     */
+    @Nullable
+    public ActionId actionId(long eventId) {
+        if (!contains(eventId)) {
+            return null;
+        }
+        int offset = offset(eventId);
+        return actionIdChunks[offset >> CHUNK_SHIFT][offset & (CHUNK_SIZE - 1)];
+    }
+
+    private boolean contains(long eventId) {
+        return eventId >= firstEventId && eventId - firstEventId < size;
+    }
+
+    private int offset(long eventId) {
+        return (int) (eventId - firstEventId);
+    }
+
+    @Nullable
+    private static ActionId resolveActionId(HistoryEvent historyEvent) {
+        if (EventType.ActivityTaskScheduled.toString().equals(historyEvent.getEventType())) {
+            return ActionId.of(historyEvent.getActivityTaskScheduledEventAttributes().getActivityId());
+        }
+        if (EventType.StartChildWorkflowExecutionInitiated.toString().equals(historyEvent.getEventType())) {
+            return ActionId.of(historyEvent.getStartChildWorkflowExecutionInitiatedEventAttributes().getControl());
+        }
+        return null;
+    }
+}
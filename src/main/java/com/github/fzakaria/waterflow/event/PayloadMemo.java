@@ -0,0 +1,113 @@
+package com.github.fzakaria.waterflow.event;
+
+import java.lang.reflect.Type;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the payloads of the events of a workflow execution once decoded, keyed by event id and target type,
+ * so replaying the history on every decision task decodes each payload at most once.
+ * <p/>
+ * The payloads of an event never change, therefore a memo stays valid for the lifetime of the run.
+ * Decoded payloads are shared by all the decisions of the run and must not be modified.
+ * <p/>
+ * A memo may be bounded by the estimated bytes of the payloads it holds, a decoded payload being assumed to weigh
+ * about as much as its encoded form. Payloads beyond the bound are decoded again every time.
+ */
+public class PayloadMemo {
+
+    private static final Object NULL = new Object();
+
+    /**
+     * Rough size of an entry of the memo without its payload.
+     */
+    private static final long ENTRY_OVERHEAD_BYTES = 64;
+
+    private final ConcurrentMap<Key, Object> payloads = new ConcurrentHashMap<>();
+
+    private final long maxBytes;
+
+    private final AtomicLong bytes = new AtomicLong();
+
+    public PayloadMemo() {
+        this(Long.MAX_VALUE);
+    }
+
+    public PayloadMemo(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Same as {@link #decode(long, Type, String, Supplier)} for a payload whose size is not accounted.
+     */
+    public <T> T decode(long eventId, Type type, Supplier<T> decoder) {
+        return decode(eventId, type, null, decoder);
+    }
+
+    /**
+     * @param eventId the id of the event carrying the payload
+     * @param type the type the payload is decoded to
+     * @param data the encoded payload, to estimate what the decoded one weighs
+     * @param decoder decodes the payload if it has not been already
+     * @return the decoded payload
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(long eventId, Type type, String data, Supplier<T> decoder) {
+        final Key key = new Key(eventId, type);
+        Object payload = payloads.get(key);
+        if (payload == null) {
+            T decoded = decoder.get();
+            payload = decoded == null ? NULL : decoded;
+            long weight = ENTRY_OVERHEAD_BYTES + 2L * (data == null ? 0 : data.length());
+            if (bytes.addAndGet(weight) > maxBytes) {
+                bytes.addAndGet(-weight);
+            } else if (payloads.putIfAbsent(key, payload) != null) {
+                bytes.addAndGet(-weight);
+            }
+        }
+        return payload == NULL ? null : (T) payload;
+    }
+
+    public int size() {
+        return payloads.size();
+    }
+
+    /**
+     * @return the estimated bytes of the payloads held
+     */
+    public long bytes() {
+        return bytes.get();
+    }
+
+    private static final class Key {
+
+        private final long eventId;
+
+        private final Type type;
+
+        private Key(long eventId, Type type) {
+            this.eventId = eventId;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return eventId == key.eventId && type.equals(key.type);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(eventId, type);
+        }
+    }
+}
@@ -1,16 +1,100 @@
 package com.github.fzakaria.waterflow.immutable;
 
 import com.amazonaws.services.simpleworkflow.model.Decision;
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecution;
+import com.github.fzakaria.waterflow.event.ActionEventIndex;
 import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.event.PayloadMemo;
+import com.google.common.collect.ImmutableList;
 import org.immutables.value.Value;
 
 import java.util.List;
+import java.util.Optional;
 
 @Value.Modifiable
 @Tuple
 public abstract class _DecisionContext {
 
-    public abstract List<Event> events();
+    private List<Event> events = ImmutableList.of();
+
+    private ActionEventIndex actionEventIndex;
+
+    private PayloadMemo payloadMemo;
+
+    private WorkflowExecution workflowExecution;
+
+    private long payloadSize = -1;
+
+    /**
+     * The events of the history, newest first. They can not be modified, only added to with {@link #addAllEvents},
+     * so that what is derived from them, i.e. the {@link #actionEvents()}, is never stale.
+     */
+    public List<Event> events() {
+        return events;
+    }
+
+    public DecisionContext addAllEvents(Iterable<? extends Event> events) {
+        this.events = ImmutableList.<Event>builder().addAll(this.events).addAll(events).build();
+        actionEventIndex = null;
+        payloadSize = -1;
+        return (DecisionContext) this;
+    }
 
     public abstract List<Decision> decisions();
+
+    /**
+     * The {@link #events()} bucketed by {@link ActionId} and {@link com.github.fzakaria.waterflow.TaskType}.
+     * The index is built on first access and rebuilt if events have been added since.
+     */
+    public ActionEventIndex actionEvents() {
+        if (actionEventIndex == null) {
+            actionEventIndex = ActionEventIndex.of(events);
+        }
+        return actionEventIndex;
+    }
+
+    /**
+     * The number of characters of the inputs, outputs and details carried by the {@link #events()}, which
+     * is what replaying the history mostly costs. Computed on first access and again if events have been added since.
+     */
+    public long payloadSize() {
+        if (payloadSize < 0) {
+            long size = 0;
+            for (Event event : events) {
+                size += length(event.input()) + length(event.output()) + length(event.details());
+            }
+            payloadSize = size;
+        }
+        return payloadSize;
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    /**
+     * The payloads decoded while deciding, shared with earlier decisions of the run if one was carried over
+     * through {@link #payloadMemo(PayloadMemo)}.
+     */
+    public PayloadMemo payloadMemo() {
+        if (payloadMemo == null) {
+            payloadMemo = new PayloadMemo();
+        }
+        return payloadMemo;
+    }
+
+    public void payloadMemo(PayloadMemo payloadMemo) {
+        this.payloadMemo = payloadMemo;
+    }
+
+    /**
+     * The execution being decided, if known, i.e. to derive the ids of the child workflows it starts.
+     */
+    public Optional<WorkflowExecution> workflowExecution() {
+        return Optional.ofNullable(workflowExecution);
+    }
+
+    public void workflowExecution(WorkflowExecution workflowExecution) {
+        this.workflowExecution = workflowExecution;
+    }
 }
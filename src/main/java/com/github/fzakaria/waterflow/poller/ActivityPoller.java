@@ -1,6 +1,7 @@
 package com.github.fzakaria.waterflow.poller;
 
 import com.amazonaws.services.simpleworkflow.model.ActivityTask;
+import com.amazonaws.services.simpleworkflow.model.ActivityType;
 import com.amazonaws.services.simpleworkflow.model.PollForActivityTaskRequest;
 import com.amazonaws.services.simpleworkflow.model.RecordActivityTaskHeartbeatRequest;
 import com.amazonaws.services.simpleworkflow.model.RegisterActivityTypeRequest;
@@ -9,26 +10,37 @@ import com.amazonaws.services.simpleworkflow.model.RespondActivityTaskFailedRequ
 import com.amazonaws.services.simpleworkflow.model.TaskList;
 import com.amazonaws.services.simpleworkflow.model.TypeAlreadyExistsException;
 import com.github.fzakaria.waterflow.Activities;
+import com.github.fzakaria.waterflow.activity.ActivityGuards;
 import com.github.fzakaria.waterflow.activity.ActivityInvoker;
 import com.github.fzakaria.waterflow.activity.ActivityMethod;
+import com.github.fzakaria.waterflow.activity.ActivityRejectedException;
 import com.github.fzakaria.waterflow.activity.ImmutableActivityInvoker;
+import com.github.fzakaria.waterflow.activity.LocalRetryPolicy;
 import com.github.fzakaria.waterflow.converter.DataConverter;
 
 import com.github.fzakaria.waterflow.immutable.Domain;
 import com.github.fzakaria.waterflow.immutable.Key;
 import com.github.fzakaria.waterflow.immutable.Name;
 import com.github.fzakaria.waterflow.immutable.TaskListName;
-import com.google.common.base.Throwables;
 import com.google.common.collect.Maps;
 import org.immutables.value.Value;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.github.fzakaria.waterflow.swf.SwfConstants.*;
 import static com.github.fzakaria.waterflow.swf.SwfUtil.*;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toSet;
 /**
  * Polls for activities on a given domain and task list and executes them.
  * <p/>
@@ -36,7 +48,9 @@ import static java.lang.String.format;
  * scheduled to handle higher levels of activity tasks.
  * <p/>
  * Since this class is single-threaded it will be tied-up while the activity is processing so scale
- * the size of the activity polling pool appropriately if you have many long-running activities.
+ * the size of the activity polling pool appropriately if you have many long-running activities,
+ * or let the pool execute activities elsewhere (i.e. {@link ActivityPollerPool#virtualThreads()})
+ * so the poller resumes polling right away.
  *
  * This class only recognizes activities that have been annotated with {@link ActivityMethod}
  *
@@ -49,9 +63,31 @@ public abstract class ActivityPoller extends BasePoller<ActivityTask> {
 
     public abstract DataConverter dataConverter();
 
+    /**
+     * Retries failed activities inside the worker before failing their task on SWF,
+     * unless their {@link ActivityMethod#localRetries()} says otherwise.
+     */
+    public abstract Optional<LocalRetryPolicy> localRetryPolicy();
+
+    /**
+     * Bulkheads and circuit breakers of the activities, shared with the other pollers of the pool.
+     * While every activity of this poller has its circuit open or its bulkhead full it stops polling.
+     * A task polled for an activity whose bulkhead is full waits for room a bounded time before it is failed,
+     * one whose circuit is open is failed right away.
+     */
+    public abstract Optional<ActivityGuards> activityGuards();
+
+    /**
+     * When the tasks waiting to be consumed were polled, by task token, as their timeouts run from then.
+     */
+    private final Map<String, Instant> polledAt = new ConcurrentHashMap<>();
+
+    /**
+     * Keyed by the {@link ActivityType} found in {@link ActivityTask} so dispatching a task needs a single lookup.
+     */
     @Value.Derived
-    public Map<Key, ActivityInvoker> activityInvokerMap() {
-        Map<Key, ActivityInvoker> activityInvokerMap = Maps.newHashMap();
+    public Map<ActivityType, ActivityInvoker> activityInvokerMap() {
+        Map<ActivityType, ActivityInvoker> activityInvokerMap = Maps.newHashMap();
         for (Activities object : activities()) {
             for (Method method : object.getClass().getMethods()) {
                 if (method != null && method.isAnnotationPresent(ActivityMethod.class)) {
@@ -60,8 +96,10 @@ public abstract class ActivityPoller extends BasePoller<ActivityTask> {
                     log.info(format("add activity %s", key));
                     ActivityInvoker activityInvoker = ImmutableActivityInvoker.builder().activityMethod(activityMethod)
                             .dataConverter(dataConverter()).instance(object).method(method)
+                            .localRetryPolicy(LocalRetryPolicy.of(activityMethod, localRetryPolicy()))
                             .service(swf()).build();
-                    activityInvokerMap.put(key,activityInvoker);
+                    activityInvokerMap.put(new ActivityType().withName(activityMethod.name())
+                            .withVersion(activityMethod.version()), activityInvoker);
                 }
             }
         }
@@ -92,12 +130,24 @@ public abstract class ActivityPoller extends BasePoller<ActivityTask> {
         }
     }
 
+    @Value.Derived
+    @Value.Auxiliary
+    public Set<Key> activityKeys() {
+        return activityInvokerMap().values().stream().map(ActivityInvoker::key).collect(toSet());
+    }
+
     @Override
     protected ActivityTask poll() {
+        if (activityGuards().isPresent() && activityGuards().get().allUnavailable(activityKeys())) {
+            log.debug("All activities on {} have their circuit open or bulkhead full, not polling.", taskList());
+            pause();
+            return null;
+        }
         ActivityTask task = swf().pollForActivityTask(createPollForActivityTask(domain(), taskList(), name()));
         if (task == null || task.getTaskToken() == null) {
             return null;
         }
+        polledAt.put(task.getTaskToken(), Instant.now());
         return task;
     }
 
@@ -114,31 +164,64 @@ public abstract class ActivityPoller extends BasePoller<ActivityTask> {
      */
     @Override
     protected void consume(ActivityTask task) {
+        consumeAsync(task).toCompletableFuture().join();
+    }
+
+    /**
+     * Same as {@link #consume} but activities returning a {@link CompletionStage} are completed
+     * or failed on SWF once their stage completes, without waiting for it.
+     */
+    @Override
+    protected CompletionStage<Void> consumeAsync(ActivityTask task) {
+        Instant taskPolledAt = Optional.ofNullable(polledAt.remove(task.getTaskToken())).orElseGet(Instant::now);
         String input = task.getInput();
-        Key key = Key.of(task.getActivityType());
-        try {
-            log.debug("start: {}", task);
-            if (activityInvokerMap().containsKey(key)) {
-                String result = activityInvokerMap().get(key).invoke(task);
-                log.info("'{}' '{}' '{}' -> '{}'", task.getActivityId(), key, input, result);
-                swf().respondActivityTaskCompleted(createRespondActivityCompleted(task, result));
-            } else {
-                String reason = format("Activity '%s' not registered on poller %s", key, name());
-                log.error(reason);
-                Throwable cause = new IllegalStateException(reason);
-                String details = dataConverter().toData(cause);
+        log.debug("start: {}", task);
+        ActivityInvoker activityInvoker = activityInvokerMap().get(task.getActivityType());
+        if (activityInvoker == null) {
+            Key key = Key.of(task.getActivityType());
+            String reason = format("Activity '%s' not registered on poller %s", key, name());
+            log.error(reason);
+            Throwable cause = new IllegalStateException(reason);
+            String details = dataConverter().toFailure(cause);
+            swf().respondActivityTaskFailed(
+                    createRespondActivityTaskFailed(task.getTaskToken(), reason, details)
+            );
+            return CompletableFuture.completedFuture(null);
+        }
+        Key key = activityInvoker.key();
+        if (activityGuards().isPresent()) {
+            try {
+                Instant deadline = taskPolledAt.plus(LocalRetryPolicy.budget(activityInvoker.activityMethod()));
+                activityGuards().get().acquire(key, Duration.between(Instant.now(), deadline));
+            } catch (ActivityRejectedException e) {
+                log.warn("'{}' '{}' rejected: {}", task.getActivityId(), key, e.getMessage());
                 swf().respondActivityTaskFailed(
-                        createRespondActivityTaskFailed(task.getTaskToken(), reason, details)
+                        createRespondActivityTaskFailed(task.getTaskToken(), e.getMessage(), dataConverter().toFailure(e))
                 );
+                return CompletableFuture.completedFuture(null);
             }
-        } catch (Throwable e) {
+        }
+        return activityInvoker.invokeAsync(task, taskPolledAt).handle((result, t) -> {
+            final boolean succeeded = t == null;
+            activityGuards().ifPresent(guards -> guards.release(key, succeeded));
+            try {
+                if (t == null) {
+                    log.info("'{}' '{}' '{}' -> '{}'", task.getActivityId(), key, input, result);
+                    swf().respondActivityTaskCompleted(createRespondActivityCompleted(task, result));
+                    return null;
+                }
+            } catch (Throwable e) {
+                t = e;
+            }
+            Throwable e = t instanceof CompletionException ? t.getCause() : t;
             log.error("'{}' '{}' '{}'", task.getActivityId(), key, input, e);
-            Throwable rootCause = Throwables.getRootCause(e);
-            String details = dataConverter().toData(rootCause);
+            // the exception thrown by the activity with its cause chain, deciders classify failures by any of the causes
+            String details = dataConverter().toFailure(e);
             swf().respondActivityTaskFailed(
                     createRespondActivityTaskFailed(task.getTaskToken(), e.getMessage(), details)
             );
-        }
+            return null;
+        });
     }
 
 
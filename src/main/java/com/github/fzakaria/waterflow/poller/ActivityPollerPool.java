@@ -1,10 +1,16 @@
 package com.github.fzakaria.waterflow.poller;
 
 import com.github.fzakaria.waterflow.Activities;
+import com.github.fzakaria.waterflow.activity.ActivityGuards;
+import com.github.fzakaria.waterflow.activity.ActivityLimits;
+import com.github.fzakaria.waterflow.activity.LocalRetryPolicy;
 import com.github.fzakaria.waterflow.immutable.Name;
+import com.google.common.base.Preconditions;
 import org.immutables.value.Value;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.stream.IntStream;
@@ -15,13 +21,77 @@ import static java.util.stream.Collectors.toList;
 /**
  * A helper class that facilitates running multiple {@link ActivityPoller} for a given {@link ScheduledThreadPoolExecutor}
  * A helpful {@link ThreadFactory} is set which names the threads with 'ACTIVITY'
- *
+ * <p/>
+ * By default an activity is executed on the thread that polled it. Activities that mostly wait on I/O are better off
+ * with {@link #virtualThreads()} or a {@link #workerService()}, letting a few pollers keep many activities in flight.
  */
 @Value.Immutable
 public abstract class ActivityPollerPool extends BasePollerPool<ActivityPoller> {
 
+    /**
+     * The default {@link #maxInFlight()} with {@link #virtualThreads()} when neither workers nor a queue are set.
+     */
+    public static final int DEFAULT_VIRTUAL_THREADS_MAX_IN_FLIGHT = 100;
+
     public abstract List<Activities> activities();
 
+    /**
+     * Execute every activity task on its own virtual thread, with at most {@link #maxInFlight()} in flight,
+     * {@link #DEFAULT_VIRTUAL_THREADS_MAX_IN_FLIGHT} unless set.
+     * On runtimes without virtual threads the activities are executed on {@link #maxInFlight()} worker threads.
+     * Ignored if a {@link #workerService()} is given.
+     */
+    @Value.Default
+    public boolean virtualThreads() {
+        return false;
+    }
+
+    @Value.Default
+    @Override
+    public int maxInFlight() {
+        int maxInFlight = super.maxInFlight();
+        return maxInFlight == 0 && virtualThreads() ? DEFAULT_VIRTUAL_THREADS_MAX_IN_FLIGHT : maxInFlight;
+    }
+
+    /**
+     * @see ActivityPoller#localRetryPolicy()
+     */
+    public abstract Optional<LocalRetryPolicy> localRetryPolicy();
+
+    /**
+     * Limits applied to each activity type, with the state shared by all the pollers of the pool.
+     */
+    public abstract Optional<ActivityLimits> activityLimits();
+
+    /**
+     * The bulkheads and circuit breakers of the activities, also exposing their metrics.
+     */
+    @Value.Derived
+    @Value.Auxiliary
+    public Optional<ActivityGuards> activityGuards() {
+        return activityLimits().map(ActivityGuards::new);
+    }
+
+    @Value.Check
+    protected void check() {
+        Preconditions.checkState(!virtualThreads() || workerService().isPresent() || maxInFlight() > 0,
+                "'maxInFlight' must be greater than 0 to execute activities on virtual threads");
+    }
+
+    @Override
+    protected Optional<PollerPipeline> createPipeline() {
+        if (!virtualThreads() || workerService().isPresent()) {
+            return super.createPipeline();
+        }
+        Optional<ExecutorService> executor = PollerPipeline.newVirtualThreadPerTaskExecutor();
+        if (executor.isPresent()) {
+            return Optional.of(new PollerPipeline(executor.get(), maxInFlight()));
+        }
+        log.warn("Virtual threads are not supported by this runtime, executing activities on {} worker threads.",
+                maxInFlight());
+        return Optional.of(new PollerPipeline(maxInFlight(), 0, workerThreadFactory()));
+    }
+
     @Override
     public Name name() {
         return Name.of("ACTIVITY");
@@ -32,7 +102,8 @@ public abstract class ActivityPollerPool extends BasePollerPool<ActivityPoller>
         return IntStream.range(0, size).mapToObj(i ->
                         ImmutableActivityPoller.builder().name(Name.of(format("%s-%s", name().value(),i)))
                                 .domain(domain()).swf(swf()).dataConverter(dataConverter())
-                                .taskList(taskList()).activities(activities()).build()
+                                .taskList(taskList()).activities(activities()).localRetryPolicy(localRetryPolicy())
+                                .activityGuards(activityGuards()).build()
         ).collect(toList());
     }
 
@@ -12,6 +12,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Period;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 import static com.github.fzakaria.waterflow.swf.SwfConstants.*;
 
@@ -35,18 +38,99 @@ public abstract class BasePoller<WorkItem> implements Runnable {
      * {@link Runnable#run} implementation calls {@link #poll()} once,
      * allows for scheduling multiple poller instances in an external thread pool.
      *
-     * @see #poll
+     * @see #pollAndConsume
      */
     public void run() {
+        pollAndConsume();
+    }
+
+    /**
+     * Calls {@link #poll()} once and consumes the work item on the calling thread.
+     *
+     * @return whether the poll returned a work item
+     */
+    public boolean pollAndConsume() {
         log.trace("Beginning poll execution.");
         try {
             WorkItem item = poll();
             if (item == null) {
-                return;
+                return false;
             }
             consume(item);
+            return true;
+        } catch (Throwable t) {
+            log.error("Unexpected throwable during poll.", t);
+            return false;
+        }
+    }
+
+    /**
+     * Poll until the thread is interrupted, handing every work item over to the pipeline to be consumed
+     * on one of its workers. Polling blocks while the pipeline is full.
+     *
+     * @see PollerPipeline
+     */
+    public void pollContinuously(PollerPipeline pipeline) {
+        log.trace("Beginning continuous poll execution.");
+        while (!Thread.currentThread().isInterrupted()) {
+            pollAndHandOver(pipeline);
+        }
+    }
+
+    /**
+     * Waits for room in the pipeline, calls {@link #poll()} once and hands the work item over to the pipeline.
+     *
+     * @return whether the poll returned a work item
+     */
+    public boolean pollAndHandOver(PollerPipeline pipeline) {
+        try {
+            pipeline.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        boolean handedOver = false;
+        try {
+            WorkItem item = poll();
+            if (item != null) {
+                handedOver = true;
+                pipeline.execute(() -> consumeSafely(item));
+            }
         } catch (Throwable t) {
             log.error("Unexpected throwable during poll.", t);
+            pause();
+        } finally {
+            if (!handedOver) {
+                pipeline.release();
+            }
+        }
+        return handedOver;
+    }
+
+    private CompletionStage<Void> consumeSafely(WorkItem item) {
+        CompletionStage<Void> consumed;
+        try {
+            consumed = consumeAsync(item);
+        } catch (Throwable t) {
+            CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+            failedFuture.completeExceptionally(t);
+            consumed = failedFuture;
+        }
+        return consumed.whenComplete((r, t) -> {
+            if (t != null) {
+                log.error("Unexpected throwable during consume.", t);
+            }
+        });
+    }
+
+    /**
+     * Used to avoid spinning on a failing SWF endpoint or while a poller is idle.
+     */
+    static void pause() {
+        try {
+            TimeUnit.SECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -63,6 +147,18 @@ public abstract class BasePoller<WorkItem> implements Runnable {
      */
     protected abstract void consume(WorkItem item);
 
+    /**
+     * Consume without waiting for the work to finish, which lets a pipelined poller keep
+     * many work items in flight. The work item stays in flight until the returned stage completes.
+     * Defaults to {@link #consume}.
+     *
+     * @see #pollAndHandOver
+     */
+    protected CompletionStage<Void> consumeAsync(WorkItem item) {
+        consume(item);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Register domain if it does not exist already
      * {@link DomainAlreadyExistsException} are ignored making this method idempotent.
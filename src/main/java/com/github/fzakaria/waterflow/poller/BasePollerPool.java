@@ -6,10 +6,13 @@ import com.github.fzakaria.waterflow.immutable.Domain;
 import com.github.fzakaria.waterflow.immutable.Name;
 import com.github.fzakaria.waterflow.immutable.TaskListName;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.immutables.value.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
@@ -28,18 +31,133 @@ public abstract class BasePollerPool<PollerType extends BasePoller> {
     public abstract DataConverter dataConverter();
     public abstract Name name();
 
+    /**
+     * Number of worker threads consuming the polled work items.
+     * When greater than 0 the pool is pipelined: the {@link #service()} threads poll continuously, without
+     * any delay between polls, and hand the work items over to the workers through a bounded queue.
+     * The default of 0 polls and consumes on the {@link #service()} threads.
+     *
+     * @see PollerPipeline
+     */
+    @Value.Default
+    public int workers() {
+        return 0;
+    }
+
+    /**
+     * Number of polled work items that may wait for a free worker before the pollers stop polling.
+     */
+    @Value.Default
+    public int queueCapacity() {
+        return workers();
+    }
+
+    /**
+     * When present the work items are consumed on this executor instead, the pool is pipelined as with {@link #workers()}
+     * but limited to {@link #maxInFlight()} work items. The executor is shutdown when the pool is stopped.
+     */
+    public abstract Optional<ExecutorService> workerService();
+
+    /**
+     * Number of work items that may be polled but not yet consumed when the pool is pipelined.
+     */
+    @Value.Default
+    public int maxInFlight() {
+        return workers() + queueCapacity();
+    }
+
+    /**
+     * When present the number of actively polling pollers adapts to how often polls return work,
+     * instead of every one of the {@link #service()} core pool size pollers always polling.
+     * The core pool size is raised to {@link PollerScaling#maxPollers()} if it is lower.
+     */
+    public abstract Optional<PollerScaling> scaling();
+
+    private volatile PollerPipeline pipeline;
+
+    private volatile PollerScaler scaler;
+
     public void start() {
         //set the ThreadFactory for pretty names
         service().setThreadFactory(executorThreadFactory());
 
-        int numOfWorkers = service().getCorePoolSize();
+        scaling().ifPresent(s -> {
+            scaler = new PollerScaler(s);
+            if (service().getCorePoolSize() < s.maxPollers()) {
+                service().setCorePoolSize(s.maxPollers());
+            }
+        });
+
+        int numOfWorkers = scaling().map(PollerScaling::maxPollers).orElse(service().getCorePoolSize());
         List<PollerType> pollers =  constructPollers(numOfWorkers);
         pollers.stream().findAny().ifPresent(BasePoller::registerDomain);
         pollers.stream().findAny().ifPresent(BasePoller::register);
-        pollers.stream().forEach( p ->  {
+        pipeline = createPipeline().orElse(null);
+        for (int i = 0; i < pollers.size(); i++) {
+            PollerType p = pollers.get(i);
             log.info(format("start: %s domain=%s taskList=%s", p.name(), p.domain(), p.taskList()));
-            service().scheduleWithFixedDelay(p, 1, 1, TimeUnit.SECONDS);
-        });
+            if (scaler != null) {
+                schedule(p, i);
+            } else if (pipeline != null) {
+                service().execute(() -> p.pollContinuously(pipeline));
+            } else {
+                service().scheduleWithFixedDelay(p, 1, 1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    protected Optional<PollerPipeline> createPipeline() {
+        if (workerService().isPresent()) {
+            return Optional.of(new PollerPipeline(workerService().get(), maxInFlight()));
+        }
+        if (workers() > 0) {
+            return Optional.of(new PollerPipeline(workers(), maxInFlight() - workers(), workerThreadFactory()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Schedule a poller that only polls while the {@link #scaler} considers it active.
+     */
+    private void schedule(PollerType p, int poller) {
+        if (pipeline != null) {
+            service().execute(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (scaler.isActive(poller)) {
+                        scaler.record(p.pollAndHandOver(pipeline));
+                    } else {
+                        BasePoller.pause();
+                    }
+                }
+            });
+        } else {
+            service().scheduleWithFixedDelay(() -> {
+                if (scaler.isActive(poller)) {
+                    scaler.record(p.pollAndConsume());
+                }
+            }, 1, 1, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * @return the number of pollers currently polling, which is all of them unless {@link #scaling()} is present
+     */
+    public int activePollers() {
+        return scaler != null ? scaler.activePollers() : service().getCorePoolSize();
+    }
+
+    /**
+     * @return the poll metrics of this pool if {@link #scaling()} is present and it has been started
+     */
+    public Optional<PollerScaler> scaler() {
+        return Optional.ofNullable(scaler);
+    }
+
+    /**
+     * @return the number of work items being polled or consumed if this pool is pipelined and has been started
+     */
+    public int inFlight() {
+        return pipeline != null ? pipeline.inFlight() : 0;
     }
 
     /**
@@ -47,6 +165,9 @@ public abstract class BasePollerPool<PollerType extends BasePoller> {
      */
     public void stop() {
         service().shutdownNow();
+        if (pipeline != null) {
+            pipeline.shutdownNow();
+        }
     }
 
     protected abstract List<PollerType> constructPollers(int size);
@@ -57,4 +178,10 @@ public abstract class BasePollerPool<PollerType extends BasePoller> {
         return threadFactoryBuilder.build();
     }
 
+    protected ThreadFactory workerThreadFactory() {
+        ThreadFactoryBuilder threadFactoryBuilder
+                = new ThreadFactoryBuilder().setNameFormat(format("%s-%s-worker-%%d", name().value(), taskList().value()));
+        return threadFactoryBuilder.build();
+    }
+
 }
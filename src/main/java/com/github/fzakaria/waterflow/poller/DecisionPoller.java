@@ -3,6 +3,7 @@ package com.github.fzakaria.waterflow.poller;
 import com.amazonaws.services.simpleworkflow.flow.common.WorkflowExecutionUtils;
 import com.amazonaws.services.simpleworkflow.model.Decision;
 import com.amazonaws.services.simpleworkflow.model.DecisionTask;
+import com.amazonaws.services.simpleworkflow.model.DecisionType;
 import com.amazonaws.services.simpleworkflow.model.FailWorkflowExecutionDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
 import com.amazonaws.services.simpleworkflow.model.PollForDecisionTaskRequest;
@@ -10,6 +11,7 @@ import com.amazonaws.services.simpleworkflow.model.RegisterWorkflowTypeRequest;
 import com.amazonaws.services.simpleworkflow.model.RespondDecisionTaskCompletedRequest;
 import com.amazonaws.services.simpleworkflow.model.TaskList;
 import com.amazonaws.services.simpleworkflow.model.TypeAlreadyExistsException;
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecution;
 import com.github.fzakaria.waterflow.Workflow;
 import com.github.fzakaria.waterflow.converter.DataConverter;
 import com.github.fzakaria.waterflow.event.Event;
@@ -20,12 +22,13 @@ import com.github.fzakaria.waterflow.immutable.Version;
 import com.github.fzakaria.waterflow.swf.DecisionTaskIterator;
 import com.github.fzakaria.waterflow.swf.RegisterWorkflowTypeRequestBuilder;
 import com.google.common.base.Joiner;
-import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import org.immutables.value.Value;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 
@@ -51,6 +54,20 @@ public abstract class DecisionPoller extends BasePoller<DecisionTask> {
 
     public abstract DataConverter dataConverter();
 
+    /**
+     * When enabled the parsed history of every decided execution is kept in {@link #historyCache()} and
+     * the history pages of the next decision task of that execution are only requested from SWF
+     * until the previously seen events are reached. Only those newer events are parsed.
+     */
+    @Value.Default
+    public boolean streamHistory() {
+        return false;
+    }
+
+    @Value.Default
+    public WorkflowHistoryCache historyCache() {
+        return new WorkflowHistoryCache();
+    }
 
     /**
      * Register workflows added to this poller on Amazon SWF with this instance's domain and task list.
@@ -93,13 +110,7 @@ public abstract class DecisionPoller extends BasePoller<DecisionTask> {
 
     @Override
     protected void consume(DecisionTask decisionTask) {
-        // Events are request in newest-first reverse order;
-        PollForDecisionTaskRequest request = createPollForDecisionTaskRequest();
-
-        DecisionTaskIterator decisionTaskIterator = new DecisionTaskIterator(swf(), request, decisionTask);
-
-        final List<HistoryEvent> historyEvents = Lists.newArrayList(decisionTaskIterator);
-        final List<Event> events = Event.fromHistoryEvents(historyEvents);
+        final List<Event> events = loadEvents(decisionTask);
 
         if (events.isEmpty()) {
             log.debug("No decisions found for a workflow");
@@ -114,9 +125,13 @@ public abstract class DecisionPoller extends BasePoller<DecisionTask> {
 
         //Order here is important since decisionContext creates a new array
         final DecisionContext decisionContext = DecisionContext.create().addAllEvents(events);
+        decisionContext.workflowExecution(decisionTask.getWorkflowExecution());
+        if (streamHistory()) {
+            historyCache().payloadMemo(decisionTask.getWorkflowExecution()).ifPresent(decisionContext::payloadMemo);
+        }
         final List<Decision> decisions = decisionContext.decisions();
 
-        List<Event> workflowErrors = events.stream().filter(e -> e.task() == WORKFLOW_EXECUTION)
+        List<Event> workflowErrors = decisionContext.actionEvents().events(WORKFLOW_EXECUTION).stream()
                 .filter(e -> e.state() == ERROR).collect(Collectors.toList());
 
         if (workflowErrors.isEmpty()) {
@@ -125,15 +140,26 @@ public abstract class DecisionPoller extends BasePoller<DecisionTask> {
                 Optional<Event> cancelEvent = events.stream().filter(e -> e.type() == WorkflowExecutionCancelRequested).findFirst();
                 cancelEvent.ifPresent(event -> workflow.onCancelRequested(event, decisions));
 
-                CompletionStage<?> future =  workflow.decide(decisionContext);
-                future.thenApply( r -> {
-                    log.debug("Workflow {} completed. Added final decision to complete workflow.", workflow.key());
-                    return dataConverter().toData(r);
-                }).exceptionally(t -> {
-                    Throwable rootCause = Throwables.getRootCause(t);
-                    log.debug("Workflow {} failed. Added final decision to complete workflow.", workflow.key(), rootCause);
-                    return dataConverter().toData(rootCause);
-                }).thenAccept(r -> decisions.add(createCompleteWorkflowExecutionDecision(r)));
+                // Roll over to a new run with the carried over state rather than replaying an ever growing history
+                Optional<Decision> continueAsNew = cancelEvent.isPresent()
+                        ? Optional.empty() : workflow.continueAsNewDecision(decisionContext);
+                if (continueAsNew.isPresent()) {
+                    log.info("Workflow {} {} continues as new after {} events.", workflowId, runId, events.size());
+                    decisions.add(continueAsNew.get());
+                } else {
+                    CompletionStage<?> future =  workflow.decide(decisionContext);
+                    future.whenComplete((r, t) -> {
+                        if (t == null) {
+                            log.debug("Workflow {} completed. Added final decision to complete workflow.", workflow.key());
+                            decisions.add(createCompleteWorkflowExecutionDecision(dataConverter().toData(r)));
+                            return;
+                        }
+                        Throwable failure = t instanceof CompletionException ? t.getCause() : t;
+                        log.debug("Workflow {} failed. Added final decision to fail workflow.", workflow.key(), failure);
+                        decisions.add(createFailWorkflowExecutionDecision(format("%s %s", workflowId, runId),
+                                failure.getMessage(), dataConverter().toFailure(failure)));
+                    });
+                }
 
                 if (log.isDebugEnabled()) {
                     log.debug(WorkflowExecutionUtils.prettyPrintDecisions(decisions));
@@ -141,7 +167,7 @@ public abstract class DecisionPoller extends BasePoller<DecisionTask> {
 
             } catch (Throwable t) {
                 String runInfo = format("%s %s", workflowId, runId);
-                String details = dataConverter().toData(t);
+                String details = dataConverter().toFailure(t);
                 log.error(runInfo, t);
                 decisions.add(createFailWorkflowExecutionDecision(runInfo, t.getMessage(), details));
             }
@@ -153,6 +179,10 @@ public abstract class DecisionPoller extends BasePoller<DecisionTask> {
             decisions.add(failWorkflowExecutionDecision);
         }
 
+        if (streamHistory() && decisions.stream().anyMatch(DecisionPoller::isCloseDecision)) {
+            historyCache().invalidate(decisionTask.getWorkflowExecution());
+        }
+
         try {
             swf().respondDecisionTaskCompleted(createRespondDecisionTaskCompletedRequest(decisionTask.getTaskToken(), decisions));
         } catch (Exception e) {
@@ -161,6 +191,66 @@ public abstract class DecisionPoller extends BasePoller<DecisionTask> {
         }
     }
 
+    /**
+     * Page in the complete history of the decision task, newest event first.
+     * When {@link #streamHistory()} is enabled the events of the execution cached by the previous decision are reused
+     * and only the events newer than them are requested from SWF and parsed.
+     * The cached events must end with the event the previous decision was started at, otherwise they were not cached by
+     * the previous decision and a full replay is done, as it is if the combined history turns out to be incomplete.
+     */
+    private List<Event> loadEvents(DecisionTask decisionTask) {
+        if (!streamHistory()) {
+            return Event.fromHistoryEvents(Lists.newArrayList(
+                    new DecisionTaskIterator(swf(), createPollForDecisionTaskRequest(), decisionTask)));
+        }
+
+        final WorkflowExecution workflowExecution = decisionTask.getWorkflowExecution();
+        final List<Event> cachedEvents = historyCache().get(workflowExecution).orElse(Collections.emptyList());
+        final long lastKnownEventId = cachedEvents.isEmpty() ? 0 : cachedEvents.get(0).id();
+        final Long previousStartedEventId = decisionTask.getPreviousStartedEventId();
+        if (previousStartedEventId != null && previousStartedEventId != lastKnownEventId) {
+            // the previous decision was made by another decider, or timed out after the history was cached
+            log.debug("Previous decision of {} was started at event {} but history is cached until event {}, "
+                    + "replaying the full history.", workflowExecution, previousStartedEventId, lastKnownEventId);
+        } else {
+            final List<HistoryEvent> newerHistoryEvents = Lists.newArrayList(new DecisionTaskIterator(swf(),
+                    createPollForDecisionTaskRequest(), decisionTask, lastKnownEventId));
+            if (isComplete(newerHistoryEvents, cachedEvents.size())) {
+                final List<Event> events = Event.appendHistoryEvents(cachedEvents, newerHistoryEvents);
+                historyCache().append(workflowExecution, events, newerHistoryEvents.size());
+                return events;
+            }
+            log.warn("Incomplete history for {}, replaying the full history.", workflowExecution);
+        }
+
+        final List<Event> events = Event.fromHistoryEvents(Lists.newArrayList(
+                new DecisionTaskIterator(swf(), createPollForDecisionTaskRequest(), decisionTask)));
+        historyCache().put(workflowExecution, events);
+        return events;
+    }
+
+    /**
+     * SWF event ids start at 1 and increase by one so the newer events, sorted newest first, complete
+     * the known events if they continue right after them and end with the event id of the combined history size.
+     */
+    private static boolean isComplete(List<HistoryEvent> newerHistoryEvents, int knownEvents) {
+        return newerHistoryEvents.isEmpty() ? knownEvents > 0 : (newerHistoryEvents.get(0).getEventId()
+                == newerHistoryEvents.size() + knownEvents
+                && newerHistoryEvents.get(newerHistoryEvents.size() - 1).getEventId() == knownEvents + 1);
+    }
+
+    private static boolean isCloseDecision(Decision decision) {
+        switch (DecisionType.fromValue(decision.getDecisionType())) {
+            case CompleteWorkflowExecution:
+            case FailWorkflowExecution:
+            case CancelWorkflowExecution:
+            case ContinueAsNewWorkflowExecution:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     /**
      * find the registered workflow related to the current decision task
      */
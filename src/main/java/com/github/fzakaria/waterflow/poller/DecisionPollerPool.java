@@ -13,13 +13,32 @@ import static java.util.stream.Collectors.toList;
 
 /**
  * Launch a pool of {@link DecisionPoller} and register the example workflows on each poller instance.
- *
+ * <p/>
+ * Set {@link #workers()} to decide on a separate pool of threads, letting a few long-polling
+ * threads keep many deciding threads busy.
  **/
 @Value.Immutable
 public abstract class DecisionPollerPool extends BasePollerPool<DecisionPoller> {
 
     public abstract List<Workflow<?,?>> workflows();
 
+    /**
+     * @see DecisionPoller#streamHistory()
+     */
+    @Value.Default
+    public boolean streamHistory() {
+        return false;
+    }
+
+    /**
+     * A single cache shared by all the pollers of this pool.
+     * @see DecisionPoller#historyCache()
+     */
+    @Value.Default
+    public WorkflowHistoryCache historyCache() {
+        return new WorkflowHistoryCache();
+    }
+
     @Override
     public Name name() {
         return Name.of("DECIDER");
@@ -30,7 +49,8 @@ public abstract class DecisionPollerPool extends BasePollerPool<DecisionPoller>
         return IntStream.range(0, size).mapToObj(i ->
                         ImmutableDecisionPoller.builder().name(Name.of(format("%s-%s", name().value(),i)))
                                 .domain(domain()).swf(swf()).dataConverter(dataConverter())
-                                .taskList(taskList()).workflows(workflows()).build()
+                                .taskList(taskList()).workflows(workflows())
+                                .streamHistory(streamHistory()).historyCache(historyCache()).build()
         ).collect(toList());
     }
 
@@ -0,0 +1,111 @@
+package com.github.fzakaria.waterflow.poller;
+
+import com.google.common.base.Preconditions;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hands the work items polled by {@link BasePoller} over to a separate pool of worker threads,
+ * or any other {@link ExecutorService}.
+ * <p/>
+ * At most {@code maxInFlight} ({@code workers + queueCapacity}) work items are polled but not yet consumed.
+ * Once that many are in flight {@link #acquire()} blocks, so pollers stop polling until a worker frees up
+ * instead of holding on to tasks SWF could have handed to another process.
+ */
+public class PollerPipeline {
+
+    private final ExecutorService executor;
+
+    private final int maxInFlight;
+
+    private final Semaphore permits;
+
+    public PollerPipeline(int workers, int queueCapacity, ThreadFactory threadFactory) {
+        // the queue is bounded by the permits, a permit is released just before its worker takes the next item
+        this(new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory), workers + queueCapacity);
+    }
+
+    /**
+     * @param executor consumes the work items and is shutdown along with this pipeline
+     * @param maxInFlight the number of work items that may be polled but not yet consumed
+     */
+    public PollerPipeline(ExecutorService executor, int maxInFlight) {
+        Preconditions.checkArgument(maxInFlight > 0, "'maxInFlight' must be greater than 0");
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Runtimes with virtual threads (Java 21 and later) can run every work item on its own virtual thread,
+     * which suits work items that mostly wait on I/O.
+     *
+     * @return an executor starting a virtual thread per task, if the runtime supports them
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Optional.of((ExecutorService) method.invoke(null));
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Wait until there is room for another work item. Every acquired permit must be given back with
+     * {@link #release()}, unless it is handed over to {@link #execute(Runnable)}.
+     */
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Consume a work item on a worker thread, releasing its permit once the returned stage completes.
+     *
+     * @throws RejectedExecutionException if the pipeline has been shutdown, the permit is released
+     */
+    public void execute(Supplier<? extends CompletionStage<?>> consumer) {
+        try {
+            executor.execute(() -> {
+                CompletionStage<?> consumed;
+                try {
+                    consumed = consumer.get();
+                } catch (Throwable t) {
+                    permits.release();
+                    throw t;
+                }
+                consumed.whenComplete((r, t) -> permits.release());
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the number of work items being polled, waiting for a worker or being consumed
+     */
+    public int inFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+}
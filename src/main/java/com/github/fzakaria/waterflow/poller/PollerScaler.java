@@ -0,0 +1,82 @@
+package com.github.fzakaria.waterflow.poller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the outcome of the polls of a {@link BasePollerPool} and decides how many of its pollers are active
+ * according to a {@link PollerScaling}. Pollers are numbered and only those below {@link #activePollers()} poll.
+ * <p/>
+ * The counters double as metrics of the pool.
+ */
+public class PollerScaler {
+
+    private static final Logger log = LoggerFactory.getLogger(PollerScaler.class);
+
+    private final PollerScaling scaling;
+
+    private int activePollers;
+
+    private int consecutiveWork;
+
+    private int consecutiveEmpty;
+
+    private final AtomicLong polledWork = new AtomicLong();
+
+    private final AtomicLong polledEmpty = new AtomicLong();
+
+    public PollerScaler(PollerScaling scaling) {
+        this.scaling = scaling;
+        this.activePollers = scaling.minPollers();
+    }
+
+    public synchronized boolean isActive(int poller) {
+        return poller < activePollers;
+    }
+
+    /**
+     * Record the outcome of a poll, scaling the active pollers up or down once a streak is long enough.
+     *
+     * @param hadWork whether the poll returned a work item
+     */
+    public void record(boolean hadWork) {
+        (hadWork ? polledWork : polledEmpty).incrementAndGet();
+        synchronized (this) {
+            if (hadWork) {
+                consecutiveEmpty = 0;
+                if (++consecutiveWork >= scaling.scaleUpAfter() && activePollers < scaling.maxPollers()) {
+                    consecutiveWork = 0;
+                    activePollers++;
+                    log.debug("Scaled up to {} active pollers.", activePollers);
+                }
+            } else {
+                consecutiveWork = 0;
+                if (++consecutiveEmpty >= scaling.scaleDownAfter() && activePollers > scaling.minPollers()) {
+                    consecutiveEmpty = 0;
+                    activePollers--;
+                    log.debug("Scaled down to {} active pollers.", activePollers);
+                }
+            }
+        }
+    }
+
+    public synchronized int activePollers() {
+        return activePollers;
+    }
+
+    /**
+     * @return the number of polls that returned a work item
+     */
+    public long polledWork() {
+        return polledWork.get();
+    }
+
+    /**
+     * @return the number of polls that returned empty
+     */
+    public long polledEmpty() {
+        return polledEmpty.get();
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.fzakaria.waterflow.poller;
+
+import com.google.common.base.Preconditions;
+import org.immutables.value.Value;
+
+/**
+ * Configures how a {@link BasePollerPool} adapts the number of its actively polling pollers.
+ * <p/>
+ * The pool starts {@link #minPollers()} active and adds one after {@link #scaleUpAfter()} consecutive polls
+ * returned work, up to {@link #maxPollers()}. One is removed after {@link #scaleDownAfter()} consecutive
+ * empty polls, down to {@link #minPollers()}. Scaling down should require a longer streak than scaling up
+ * so that the pool does not flap on a bursty task list.
+ *
+ * @see PollerScaler
+ */
+@Value.Immutable
+public abstract class PollerScaling {
+
+    @Value.Default
+    public int minPollers() {
+        return 1;
+    }
+
+    public abstract int maxPollers();
+
+    @Value.Default
+    public int scaleUpAfter() {
+        return 2;
+    }
+
+    @Value.Default
+    public int scaleDownAfter() {
+        return 5;
+    }
+
+    @Value.Check
+    protected void check() {
+        Preconditions.checkState(minPollers() > 0, "'minPollers' must be greater than 0");
+        Preconditions.checkState(maxPollers() >= minPollers(), "'maxPollers' must not be less than 'minPollers'");
+        Preconditions.checkState(scaleUpAfter() > 0 && scaleDownAfter() > 0,
+                "'scaleUpAfter' and 'scaleDownAfter' must be greater than 0");
+    }
+}
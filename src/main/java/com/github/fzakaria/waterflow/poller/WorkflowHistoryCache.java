@@ -0,0 +1,166 @@
+package com.github.fzakaria.waterflow.poller;
+
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecution;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.event.PayloadMemo;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the parsed history of recently decided workflow executions in memory so that the next
+ * decision task of the same execution only has to page in and parse the events that happened since.
+ * <p/>
+ * SWF histories are append only, therefore a cached history stays valid for the lifetime of the execution.
+ * A single cache is meant to be shared by all the {@link DecisionPoller} of a pool since SWF may hand out
+ * the decision tasks of an execution to any of them.
+ * <p/>
+ * The cache is bounded by the estimated number of bytes held by the cached histories, least recently used
+ * executions being evicted first, and executions not decided for {@link #DEFAULT_EXPIRE_AFTER_ACCESS} are dropped.
+ * An evicted execution simply has its history replayed in full on its next decision task.
+ * <p/>
+ * Along with the history a {@link PayloadMemo} of the execution is kept, so the payloads decoded by one
+ * decision are reused by the next. The estimated bytes of the memo are added to the weight of the execution
+ * whenever its history is cached again, and each memo is bounded to {@link #MEMO_FRACTION} of the maximum bytes
+ * so that its growth in between is bounded too.
+ */
+public class WorkflowHistoryCache {
+
+    public static final long DEFAULT_MAXIMUM_BYTES = 64 * 1024 * 1024;
+
+    public static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+    /**
+     * The share of the maximum bytes of the cache the {@link PayloadMemo} of a single execution may take.
+     */
+    public static final double MEMO_FRACTION = 1.0 / 16;
+
+    /**
+     * Rough size of a {@link Event} and its {@link com.amazonaws.services.simpleworkflow.model.HistoryEvent}
+     * without the variable length payloads.
+     */
+    private static final long EVENT_OVERHEAD_BYTES = 512;
+
+    private final Cache<WorkflowExecution, CachedHistory> cache;
+
+    private final long maxMemoBytes;
+
+    public WorkflowHistoryCache() {
+        this(DEFAULT_MAXIMUM_BYTES, DEFAULT_EXPIRE_AFTER_ACCESS);
+    }
+
+    public WorkflowHistoryCache(long maximumBytes, Duration expireAfterAccess) {
+        this.maxMemoBytes = (long) (maximumBytes * MEMO_FRACTION);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((WorkflowExecution key, CachedHistory value) ->
+                        (int) Math.min(value.bytes + value.payloadMemo.bytes(), Integer.MAX_VALUE))
+                .expireAfterAccess(expireAfterAccess.toMillis(), TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the events of the execution, newest event first, if present
+     */
+    public Optional<List<Event>> get(WorkflowExecution workflowExecution) {
+        return Optional.ofNullable(cache.getIfPresent(workflowExecution)).map(c -> c.events);
+    }
+
+    /**
+     * Cache the history of the execution, replacing any previously cached history.
+     *
+     * @param events the complete history of the execution so far, newest event first
+     */
+    public void put(WorkflowExecution workflowExecution, List<Event> events) {
+        CachedHistory cached = lookup(workflowExecution);
+        PayloadMemo payloadMemo = cached == null ? new PayloadMemo(maxMemoBytes) : cached.payloadMemo;
+        cache.put(workflowExecution, new CachedHistory(events, estimateBytes(events), payloadMemo));
+    }
+
+    /**
+     * Cache the history of the execution whose previously cached events are the tail of the given events.
+     * Only the size of the newer events has to be estimated.
+     *
+     * @param events the complete history of the execution so far, newest event first
+     * @param newerEvents how many of the given events are newer than the cached ones
+     */
+    public void append(WorkflowExecution workflowExecution, List<Event> events, int newerEvents) {
+        CachedHistory cached = lookup(workflowExecution);
+        if (cached == null || cached.events.size() + newerEvents != events.size()) {
+            put(workflowExecution, events);
+            return;
+        }
+        cache.put(workflowExecution,
+                new CachedHistory(events, cached.bytes + estimateBytes(events.subList(0, newerEvents)),
+                        cached.payloadMemo));
+    }
+
+    /**
+     * @return the payloads of the execution decoded so far, if its history is cached
+     */
+    public Optional<PayloadMemo> payloadMemo(WorkflowExecution workflowExecution) {
+        return Optional.ofNullable(lookup(workflowExecution)).map(c -> c.payloadMemo);
+    }
+
+    public void invalidate(WorkflowExecution workflowExecution) {
+        cache.invalidate(workflowExecution);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public long hitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long missCount() {
+        return cache.stats().missCount();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Internal lookups go through the map view so that only {@link #get} is accounted in the {@link #stats()}.
+     */
+    private CachedHistory lookup(WorkflowExecution workflowExecution) {
+        return cache.asMap().get(workflowExecution);
+    }
+
+    private static long estimateBytes(List<Event> events) {
+        long bytes = 0;
+        for (Event event : events) {
+            bytes += EVENT_OVERHEAD_BYTES + 2 * (length(event.input()) + length(event.output())
+                    + length(event.control()) + length(event.reason()) + length(event.details()));
+        }
+        return bytes;
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static class CachedHistory {
+
+        private final List<Event> events;
+
+        private final long bytes;
+
+        private final PayloadMemo payloadMemo;
+
+        private CachedHistory(List<Event> events, long bytes, PayloadMemo payloadMemo) {
+            this.events = Collections.unmodifiableList(events);
+            this.bytes = bytes;
+            this.payloadMemo = payloadMemo;
+        }
+    }
+}
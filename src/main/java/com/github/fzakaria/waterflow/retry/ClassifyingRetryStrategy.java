@@ -0,0 +1,86 @@
+package com.github.fzakaria.waterflow.retry;
+
+import com.github.fzakaria.waterflow.converter.RemoteFailureException;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Creates a {@link RetryStrategy} that decides by the type of the failure whether to retry,
+ * with the actual delay behavior delegated to another {@link RetryStrategy}.
+ * <p/>
+ * A failure is not retried if it, or any of its causes, is one of the non retryable types. If retryable types
+ * are given a failure is only retried if it, or any of its causes, is one of them. Types are matched by name
+ * against the hierarchy of the failure, and against the original type of a {@link RemoteFailureException}.
+ * Retries without a known failure are left to the delegate.
+ */
+public class ClassifyingRetryStrategy implements RetryStrategy {
+
+    private final RetryStrategy delegate;
+
+    private final ImmutableSet<String> retryable;
+
+    private final ImmutableSet<String> nonRetryable;
+
+    public ClassifyingRetryStrategy(RetryStrategy delegate,
+                                    Collection<Class<? extends Throwable>> retryable,
+                                    Collection<Class<? extends Throwable>> nonRetryable) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.retryable = names(retryable);
+        this.nonRetryable = names(nonRetryable);
+    }
+
+    @SafeVarargs
+    public static ClassifyingRetryStrategy retryOn(RetryStrategy delegate, Class<? extends Throwable>... retryable) {
+        return new ClassifyingRetryStrategy(delegate, ImmutableSet.copyOf(retryable), ImmutableSet.of());
+    }
+
+    @SafeVarargs
+    public static ClassifyingRetryStrategy neverRetryOn(RetryStrategy delegate, Class<? extends Throwable>... nonRetryable) {
+        return new ClassifyingRetryStrategy(delegate, ImmutableSet.of(), ImmutableSet.copyOf(nonRetryable));
+    }
+
+    @Override
+    public Duration nextRetry(long attempt, Instant startTime) {
+        return delegate.nextRetry(attempt, startTime);
+    }
+
+    @Override
+    public Duration nextRetry(long attempt, Instant startTime, @Nullable Throwable failure) {
+        if (failure != null && !isRetryable(failure)) {
+            return Duration.ZERO;
+        }
+        return delegate.nextRetry(attempt, startTime, failure);
+    }
+
+    public boolean isRetryable(Throwable failure) {
+        if (matches(failure, nonRetryable)) {
+            return false;
+        }
+        return retryable.isEmpty() || matches(failure, retryable);
+    }
+
+    private static boolean matches(Throwable failure, ImmutableSet<String> types) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof RemoteFailureException && types.contains(((RemoteFailureException) t).getType())) {
+                return true;
+            }
+            for (Class<?> c = t.getClass(); c != null; c = c.getSuperclass()) {
+                if (types.contains(c.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static ImmutableSet<String> names(Collection<Class<? extends Throwable>> types) {
+        ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        types.forEach(t -> names.add(t.getName()));
+        return names.build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.fzakaria.waterflow.retry;
 
+import javax.annotation.Nullable;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -9,7 +10,7 @@ import java.time.Instant;
  * The retry strategy has a maximum time limit of 2 hours.
  * The retry strategy has a maximum attempt limit of 100.
  * The retry strategy has a initial delay of 1 minute.
- * The retry strategy grows exponentially.
+ * The retry strategy grows exponentially, up to a delay of 1 hour, with equal jitter.
  */
 public class DefaultRetryStrategy implements RetryStrategy {
 
@@ -19,10 +20,13 @@ public class DefaultRetryStrategy implements RetryStrategy {
 
     private static final Duration INITIAL_DELAY = Duration.ofMinutes(1);
 
+    private static final Duration MAX_DELAY = Duration.ofHours(1);
+
     private static final long MAX_ATTEMPTS = 100;
 
     public DefaultRetryStrategy(Clock clock) {
-        RetryStrategy backOffStratgy = new ExponentialDelayRetryStrategy(INITIAL_DELAY);
+        RetryStrategy backOffStratgy = new JitterRetryStrategy(
+                new ExponentialDelayRetryStrategy(INITIAL_DELAY, MAX_DELAY), JitterRetryStrategy.Jitter.EQUAL);
         RetryStrategy maxLimitStrategy = new MaxLimitRetryStrategy(backOffStratgy, MAX_ATTEMPTS);
         retryStrategy = new TimeLimitRetryStrategy(maxLimitStrategy, clock, MAX_TIME_LIMIT);
     }
@@ -32,4 +36,9 @@ public class DefaultRetryStrategy implements RetryStrategy {
     public Duration nextRetry(long attempt, Instant startTime) {
         return retryStrategy.nextRetry(attempt, startTime);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Duration nextRetry(long attempt, Instant startTime, @Nullable Throwable failure) {
+        return retryStrategy.nextRetry(attempt, startTime, failure);
+    }
+}
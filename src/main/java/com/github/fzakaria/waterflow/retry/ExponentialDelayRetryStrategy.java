@@ -1,22 +1,46 @@
 package com.github.fzakaria.waterflow.retry;
 
+import com.google.common.base.Preconditions;
+
 import java.time.Duration;
 import java.time.Instant;
 
+import static com.github.fzakaria.waterflow.swf.SwfConstants.SWF_TIMEOUT_YEAR;
+
 /**
- * Creates a {@link RetryStrategy} that will increase delay exponentially between each retries.
+ * Creates a {@link RetryStrategy} that will increase delay exponentially between each retries,
+ * up to a maximum delay.
  */
 public class ExponentialDelayRetryStrategy implements RetryStrategy {
 
     private final Duration baseDelay;
 
+    private final Duration maxDelay;
+
     public ExponentialDelayRetryStrategy(Duration baseDelay) {
+        this(baseDelay, SWF_TIMEOUT_YEAR);
+    }
+
+    public ExponentialDelayRetryStrategy(Duration baseDelay, Duration maxDelay) {
+        Preconditions.checkArgument(!baseDelay.isNegative() && !maxDelay.isNegative(), "Delays must not be negative");
         this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
     }
 
     @Override
     public Duration nextRetry(long attempt, Instant startTime) {
-        long power = (1 << attempt) - 1;
-        return baseDelay.multipliedBy(power);
+        if (attempt <= 0) {
+            return Duration.ZERO;
+        }
+        if (attempt >= Long.SIZE - 1) {
+            return maxDelay;
+        }
+        long power = (1L << attempt) - 1;
+        try {
+            Duration delay = baseDelay.multipliedBy(power);
+            return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+        } catch (ArithmeticException e) {
+            return maxDelay;
+        }
     }
-}
\ No newline at end of file
+}
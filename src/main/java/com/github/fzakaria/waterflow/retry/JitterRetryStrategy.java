@@ -0,0 +1,71 @@
+package com.github.fzakaria.waterflow.retry;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Creates a {@link RetryStrategy} that randomizes the delays of another {@link RetryStrategy} so that actions
+ * failing together, i.e. because of an outage downstream, do not all retry at the same moment.
+ * <p/>
+ * Delays are never randomized below {@link #MIN_DELAY}, as a zero delay means no retry.
+ */
+public class JitterRetryStrategy implements RetryStrategy {
+
+    public enum Jitter {
+        /**
+         * A delay anywhere between {@link #MIN_DELAY} and the delay, spreading retries the most.
+         */
+        FULL,
+        /**
+         * A delay between half the delay and the delay, keeping retries from coming back too soon.
+         */
+        EQUAL
+    }
+
+    public static final Duration MIN_DELAY = Duration.ofSeconds(1);
+
+    private final RetryStrategy delegate;
+
+    private final Jitter jitter;
+
+    @Nullable
+    private final Random random;
+
+    public JitterRetryStrategy(RetryStrategy delegate, Jitter jitter) {
+        this(delegate, jitter, null);
+    }
+
+    /**
+     * @param random the source of randomness, {@link ThreadLocalRandom} if null
+     */
+    public JitterRetryStrategy(RetryStrategy delegate, Jitter jitter, @Nullable Random random) {
+        this.delegate = Preconditions.checkNotNull(delegate);
+        this.jitter = Preconditions.checkNotNull(jitter);
+        this.random = random;
+    }
+
+    @Override
+    public Duration nextRetry(long attempt, Instant startTime) {
+        return jitter(delegate.nextRetry(attempt, startTime));
+    }
+
+    @Override
+    public Duration nextRetry(long attempt, Instant startTime, @Nullable Throwable failure) {
+        return jitter(delegate.nextRetry(attempt, startTime, failure));
+    }
+
+    private Duration jitter(Duration delay) {
+        if (delay.compareTo(MIN_DELAY) <= 0) {
+            return delay;
+        }
+        long millis = delay.toMillis();
+        long min = jitter == Jitter.FULL ? MIN_DELAY.toMillis() : Math.max(MIN_DELAY.toMillis(), millis / 2);
+        double fraction = random == null ? ThreadLocalRandom.current().nextDouble() : random.nextDouble();
+        return Duration.ofMillis(min + (long) (fraction * (millis - min)));
+    }
+}
@@ -3,6 +3,7 @@ package com.github.fzakaria.waterflow.retry;
 
 import com.google.common.base.Preconditions;
 
+import javax.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
 
@@ -26,4 +27,9 @@ public class MaxLimitRetryStrategy implements RetryStrategy{
     public Duration nextRetry(long attempt, Instant startTime) {
         return (attempt <= limit) ? delegate.nextRetry(attempt, startTime) : Duration.ZERO;
     }
+
+    @Override
+    public Duration nextRetry(long attempt, Instant startTime, @Nullable Throwable failure) {
+        return (attempt <= limit) ? delegate.nextRetry(attempt, startTime, failure) : Duration.ZERO;
+    }
 }
\ No newline at end of file
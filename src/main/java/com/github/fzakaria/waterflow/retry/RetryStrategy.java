@@ -1,14 +1,27 @@
 package com.github.fzakaria.waterflow.retry;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
 
 /**
  *  An interface for figuring out the duration for the next
  *  {@link com.github.fzakaria.waterflow.action.ActivityAction}
+ *  <p/>
+ *  A {@link Duration#ZERO} means the action is not retried.
  */
 public interface RetryStrategy {
 
     @Nonnull Duration nextRetry(long attempt, @Nonnull Instant startTime);
-}
\ No newline at end of file
+
+    /**
+     * Same as {@link #nextRetry(long, Instant)} for strategies that tell failures apart.
+     * Strategies decorating another strategy should pass the failure on.
+     * @param failure the failure of the last attempt, if known
+     */
+    @Nonnull
+    default Duration nextRetry(long attempt, @Nonnull Instant startTime, @Nullable Throwable failure) {
+        return nextRetry(attempt, startTime);
+    }
+}
@@ -2,6 +2,7 @@ package com.github.fzakaria.waterflow.retry;
 
 import com.github.fzakaria.waterflow.retry.RetryStrategy;
 
+import javax.annotation.Nullable;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -30,4 +31,12 @@ public class TimeLimitRetryStrategy implements RetryStrategy {
         Instant currentElapsedDate = clock.instant();
         return currentElapsedDate.isBefore(maxElapsedInstant) ? delegate.nextRetry(attempt, startTime) : Duration.ZERO;
     }
+
+    @Override
+    public Duration nextRetry(long attempt, Instant startTime, @Nullable Throwable failure) {
+        Instant maxElapsedInstant = startTime.plus(maxElapsedTime);
+        Instant currentElapsedDate = clock.instant();
+        return currentElapsedDate.isBefore(maxElapsedInstant) ?
+                delegate.nextRetry(attempt, startTime, failure) : Duration.ZERO;
+    }
 }
\ No newline at end of file
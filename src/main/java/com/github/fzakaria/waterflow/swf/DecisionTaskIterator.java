@@ -11,6 +11,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Lazily iterates the history events of a {@link DecisionTask}, requesting the next page from SWF
+ * only once the current one has been consumed.
+ * <p/>
+ * The history is expected to be requested in reverse order (newest event first). Given a
+ * {@code lastKnownEventId}, iteration stops before the first event with an id less than or equal to it
+ * so that pages holding only already known events are never requested.
+ */
 public class DecisionTaskIterator extends AbstractIterator<HistoryEvent> {
 
     private String nextPageToken;
@@ -18,11 +26,19 @@ public class DecisionTaskIterator extends AbstractIterator<HistoryEvent> {
     private boolean isLastPage = false;
     private final AmazonSimpleWorkflow swf;
     private final PollForDecisionTaskRequest request;
+    private final long lastKnownEventId;
+    private long lastEventId = Long.MAX_VALUE;
 
     public DecisionTaskIterator(AmazonSimpleWorkflow swf, PollForDecisionTaskRequest request,
                                 DecisionTask startingResponse) {
+        this(swf, request, startingResponse, 0);
+    }
+
+    public DecisionTaskIterator(AmazonSimpleWorkflow swf, PollForDecisionTaskRequest request,
+                                DecisionTask startingResponse, long lastKnownEventId) {
         this.swf = swf;
         this.request = request;
+        this.lastKnownEventId = lastKnownEventId;
         this.nextPageToken = startingResponse.getNextPageToken();
         this.currentPage = Optional.ofNullable(startingResponse.getEvents())
                 .map(List::iterator).orElse( Collections.emptyIterator());
@@ -31,6 +47,11 @@ public class DecisionTaskIterator extends AbstractIterator<HistoryEvent> {
 
     @Override
     protected HistoryEvent computeNext() {
+        // the next event would already be known so don't request another page for it
+        if (isKnown(lastEventId - 1)) {
+            return endOfData();
+        }
+
         if (!currentPage.hasNext() && !isLastPage) {
             DecisionTask decisionTask = nextDecisionTask(nextPageToken);
             nextPageToken = decisionTask.getNextPageToken();
@@ -40,15 +61,23 @@ public class DecisionTaskIterator extends AbstractIterator<HistoryEvent> {
         }
 
         if (currentPage.hasNext()) {
-            return currentPage.next();
+            HistoryEvent historyEvent = currentPage.next();
+            lastEventId = historyEvent.getEventId();
+            if (isKnown(lastEventId)) {
+                return endOfData();
+            }
+            return historyEvent;
         }else {
             endOfData();
             return null;
         }
     }
 
+    private boolean isKnown(long eventId) {
+        return lastKnownEventId > 0 && eventId <= lastKnownEventId;
+    }
+
     protected DecisionTask nextDecisionTask(String nextPageToken) {
         return swf.pollForDecisionTask(request.withNextPageToken(nextPageToken));
     }
 }
-
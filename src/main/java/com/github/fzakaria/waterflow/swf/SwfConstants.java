@@ -47,6 +47,11 @@ public final class SwfConstants {
 
     public static final int MARKER_NAME_MAX_LENGTH = 256;
 
+    /**
+     * SWF fails executions whose history exceeds 25,000 events, continue as new well before that.
+     */
+    public static final int CONTINUE_AS_NEW_MAX_EVENTS_DEFAULT = 10000;
+
 
 
 
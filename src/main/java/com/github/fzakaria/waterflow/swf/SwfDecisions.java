@@ -1,18 +1,22 @@
 package com.github.fzakaria.waterflow.swf;
 
 import com.amazonaws.services.simpleworkflow.model.ActivityType;
+import com.amazonaws.services.simpleworkflow.model.ChildPolicy;
 import com.amazonaws.services.simpleworkflow.model.Decision;
 import com.amazonaws.services.simpleworkflow.model.DecisionType;
 import com.amazonaws.services.simpleworkflow.model.RecordMarkerDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.ScheduleActivityTaskDecisionAttributes;
+import com.amazonaws.services.simpleworkflow.model.StartChildWorkflowExecutionDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.StartTimerDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.TaskList;
+import com.amazonaws.services.simpleworkflow.model.WorkflowType;
 import com.github.fzakaria.waterflow.immutable.ActionId;
 import com.github.fzakaria.waterflow.immutable.Control;
 import com.github.fzakaria.waterflow.immutable.Details;
 import com.github.fzakaria.waterflow.immutable.Name;
 import com.github.fzakaria.waterflow.immutable.TaskListName;
 import com.github.fzakaria.waterflow.immutable.Version;
+import com.github.fzakaria.waterflow.immutable.WorkflowId;
 import org.immutables.builder.Builder;
 import org.immutables.value.Value;
 
@@ -88,4 +92,42 @@ public class SwfDecisions {
                         .withStartToFireTimeout(String.valueOf(startToFireTimeout.getSeconds()))
                         .withControl(control.map(Control::value).orElse(null)));
     }
+
+    /**
+     * The {@link ActionId} is passed as the control of the decision so that the events of the child workflow
+     * can be related back to the action that started it.
+     *
+     * @return decision of type {@link DecisionType#StartChildWorkflowExecution}
+     */
+    @Builder.Factory
+    public static Decision startChildWorkflowExecutionDecision(
+            @Nonnull ActionId actionId,
+            @Nonnull WorkflowId workflowId,
+            @Nonnull Name name,
+            @Nonnull Version version,
+            Optional<String> input,
+            Optional<TaskListName> taskListName,
+            Optional<Duration> executionStartToCloseTimeout,
+            Optional<Duration> taskStartToCloseTimeout,
+            Optional<ChildPolicy> childPolicy,
+            Optional<Integer> taskPriority) {
+        TaskList taskList = taskListName.map(TaskListName::value)
+                .map(t -> new TaskList().withName(t)).orElse(null);
+        return new Decision()
+                .withDecisionType(DecisionType.StartChildWorkflowExecution)
+                .withStartChildWorkflowExecutionDecisionAttributes(new StartChildWorkflowExecutionDecisionAttributes()
+                        .withWorkflowType(new WorkflowType()
+                                .withName(name.value())
+                                .withVersion(version.value()))
+                        .withWorkflowId(workflowId.value())
+                        .withControl(actionId.value())
+                        .withTaskList(taskList)
+                        .withInput(input.orElse(null))
+                        .withExecutionStartToCloseTimeout(executionStartToCloseTimeout
+                                .map(d -> String.valueOf(d.getSeconds())).orElse(null))
+                        .withTaskStartToCloseTimeout(taskStartToCloseTimeout
+                                .map(d -> String.valueOf(d.getSeconds())).orElse(null))
+                        .withChildPolicy(childPolicy.map(ChildPolicy::toString).orElse(null))
+                        .withTaskPriority(taskPriority.map(String::valueOf).orElse(null)));
+    }
 }
@@ -16,6 +16,9 @@ import com.amazonaws.services.simpleworkflow.model.SignalExternalWorkflowExecuti
 import com.amazonaws.services.simpleworkflow.model.StartChildWorkflowExecutionDecisionAttributes;
 import com.amazonaws.services.simpleworkflow.model.StartTimerDecisionAttributes;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.time.Duration;
 
 import static java.lang.String.format;
@@ -26,6 +29,8 @@ import static java.lang.String.valueOf;
  */
 public final class SwfUtil {
 
+    private static final Logger log = LoggerFactory.getLogger(SwfUtil.class);
+
     public static String assertMaxLength(String input, int max) {
         if (input.length() > max) {
             throw new IllegalStateException(format("%s has a longer allowed size than %s", input, max));
@@ -62,6 +67,8 @@ public final class SwfUtil {
     public static String trimToMaxLength(String s, int maxLength) {
         try {
             if (s != null && s.length() > maxLength) {
+                log.warn("Trimming {} characters to the maximum of {}, see ClaimCheckDataConverter: {}...",
+                        s.length(), maxLength, s.substring(0, Math.min(maxLength, 64)));
                 return s.substring(0, maxLength);
             } else {
                 return s;
@@ -0,0 +1,54 @@
+package com.github.fzakaria.waterflow;
+
+import com.amazonaws.services.simpleworkflow.model.ContinueAsNewWorkflowExecutionDecisionAttributes;
+import com.amazonaws.services.simpleworkflow.model.Decision;
+import com.amazonaws.services.simpleworkflow.model.DecisionType;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.example.workflows.ImmutablePollingWorkflow;
+import com.github.fzakaria.waterflow.example.workflows.PollingWorkflow;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static com.github.fzakaria.waterflow.TestUtil.activityHistory;
+import static com.github.fzakaria.waterflow.swf.SwfConstants.MAX_INPUT_LENGTH;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ContinueAsNewTest {
+
+    private final PollingWorkflow workflow = ImmutablePollingWorkflow.builder()
+            .dataConverter(ImmutableJacksonDataConverter.builder().build()).build();
+
+    @Test
+    public void continuesAsNewWithCarriedOverState() {
+        Optional<Decision> decision = workflow.continueAsNewDecision(decisionContext(9));
+        assertThat(decision.get().getDecisionType(), is(DecisionType.ContinueAsNewWorkflowExecution.toString()));
+        ContinueAsNewWorkflowExecutionDecisionAttributes attributes =
+                decision.get().getContinueAsNewWorkflowExecutionDecisionAttributes();
+        assertThat(attributes.getInput(), is("9"));
+        assertThat(attributes.getTaskList().getName(), is(workflow.taskList().value()));
+        assertThat(attributes.getChildPolicy(), is(workflow.childPolicy().toString()));
+        assertThat(attributes.getTaskStartToCloseTimeout(),
+                is(String.valueOf(workflow.taskStartToCloseTimeout().getSeconds())));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void stateLongerThanMaxInputIsRejected() {
+        Workflow.createContinueAsNewWorkflowExecutionDecision(workflow, Strings.repeat("x", MAX_INPUT_LENGTH + 1));
+    }
+
+    @Test
+    public void keepsDecidingBelowThresholds() {
+        DecisionContext decisionContext = decisionContext(5);
+        assertThat(workflow.continueAsNewDecision(decisionContext).isPresent(), is(false));
+        assertThat(decisionContext.payloadSize() > 0, is(true));
+    }
+
+    private static DecisionContext decisionContext(int completed) {
+        return DecisionContext.create().addAllEvents(Event.fromHistoryEvents(activityHistory(completed, "poll-")));
+    }
+}
@@ -1,7 +1,13 @@
 package com.github.fzakaria.waterflow;
 
+import com.amazonaws.services.simpleworkflow.model.ActivityTaskCompletedEventAttributes;
+import com.amazonaws.services.simpleworkflow.model.ActivityTaskScheduledEventAttributes;
+import com.amazonaws.services.simpleworkflow.model.ActivityTaskStartedEventAttributes;
 import com.amazonaws.services.simpleworkflow.model.DecisionTask;
+import com.amazonaws.services.simpleworkflow.model.DecisionTaskCompletedEventAttributes;
+import com.amazonaws.services.simpleworkflow.model.EventType;
 import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecutionStartedEventAttributes;
 import com.amazonaws.services.simpleworkflow.model.transform.DecisionTaskJsonUnmarshaller;
 import com.amazonaws.transform.JsonUnmarshallerContext;
 import com.amazonaws.transform.JsonUnmarshallerContextImpl;
@@ -9,7 +15,6 @@ import com.amazonaws.transform.Unmarshaller;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.github.fzakaria.waterflow.event.Event;
-import com.github.fzakaria.waterflow.event.ImmutableEvent;
 import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
 import com.google.common.io.Resources;
@@ -17,8 +22,8 @@ import com.google.common.io.Resources;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 
@@ -53,8 +58,7 @@ public class TestUtil {
      * @param json json to parse
      */
     public static List<Event> parseActionEvents(String json) {
-        List<HistoryEvent> historyEvents = parseHistoryEvents(json);
-        return historyEvents.stream().map(he -> ImmutableEvent.builder().historyEvent(he).historyEvents(historyEvents).build()).sorted().collect(Collectors.toList());
+        return Event.fromHistoryEvents(parseHistoryEvents(json));
     }
 
     public static List<HistoryEvent> parseHistoryEvents(String json) {
@@ -81,6 +85,52 @@ public class TestUtil {
     }
 
 
+    /**
+     * Build a synthetic workflow history in which each activity 'step&lt;n&gt;' is scheduled, started and completed
+     * by its own decision task, newest event first as returned by SWF.
+     *
+     * @param activities number of completed activities in the history
+     *
+     * @return roughly six events per activity
+     */
+    public static List<HistoryEvent> activityHistory(int activities) {
+        return activityHistory(activities, "step");
+    }
+
+    public static List<HistoryEvent> activityHistory(int activities, String actionIdPrefix) {
+        List<HistoryEvent> historyEvents = Lists.newArrayList();
+        long eventId = 0;
+        historyEvents.add(historyEvent(++eventId, EventType.WorkflowExecutionStarted)
+                .withWorkflowExecutionStartedEventAttributes(new WorkflowExecutionStartedEventAttributes().withInput("1")));
+        for (int i = 0; i < activities; i++) {
+            long decisionScheduledId = ++eventId;
+            historyEvents.add(historyEvent(decisionScheduledId, EventType.DecisionTaskScheduled));
+            long decisionStartedId = ++eventId;
+            historyEvents.add(historyEvent(decisionStartedId, EventType.DecisionTaskStarted));
+            historyEvents.add(historyEvent(++eventId, EventType.DecisionTaskCompleted)
+                    .withDecisionTaskCompletedEventAttributes(new DecisionTaskCompletedEventAttributes()
+                            .withScheduledEventId(decisionScheduledId).withStartedEventId(decisionStartedId)));
+            long scheduledId = ++eventId;
+            historyEvents.add(historyEvent(scheduledId, EventType.ActivityTaskScheduled)
+                    .withActivityTaskScheduledEventAttributes(new ActivityTaskScheduledEventAttributes()
+                            .withActivityId(actionIdPrefix + i).withInput("[ \"[Ljava.lang.Object;\", [ " + i + ", 1 ] ]")));
+            long startedId = ++eventId;
+            historyEvents.add(historyEvent(startedId, EventType.ActivityTaskStarted)
+                    .withActivityTaskStartedEventAttributes(new ActivityTaskStartedEventAttributes()
+                            .withScheduledEventId(scheduledId)));
+            historyEvents.add(historyEvent(++eventId, EventType.ActivityTaskCompleted)
+                    .withActivityTaskCompletedEventAttributes(new ActivityTaskCompletedEventAttributes()
+                            .withScheduledEventId(scheduledId).withStartedEventId(startedId)
+                            .withResult(String.valueOf(i + 1))));
+        }
+        return Lists.reverse(historyEvents);
+    }
+
+    private static HistoryEvent historyEvent(long eventId, EventType eventType) {
+        return new HistoryEvent().withEventId(eventId).withEventType(eventType)
+                .withEventTimestamp(new Date(eventId * 1000));
+    }
+
     /**
      * Use SWF API to unmarshal a json document into a {@link DecisionTask}.
      * Note: json is expected to be in the native format used by SWF
@@ -0,0 +1,122 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.amazonaws.services.simpleworkflow.model.EventType;
+import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.event.EventState;
+import com.github.fzakaria.waterflow.example.workflows.ImmutableSimpleWorkflow;
+import com.github.fzakaria.waterflow.example.workflows.SimpleWorkflow;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.fzakaria.waterflow.TestUtil.activityHistory;
+import static com.github.fzakaria.waterflow.action.ActivityActions.IntegerActivityAction;
+import static com.github.fzakaria.waterflow.event.EventState.NOT_STARTED;
+
+/**
+ * Measures the cost of turning a decision task history into {@link Event} and computing
+ * the state of every {@link Action} in the workflow, which happens on every decision.
+ * <p/>
+ * {@link #baselineStateSweep} is the code this replaced: {@link BaselineEvent} computes its attributes through
+ * chains of comparisons on every access, and each action filters the whole event list, twice, as
+ * {@link ActivityAction} did before {@link DecisionContext#actionEvents()} existed.
+ * {@link #linearStateSweep} filters the whole list once per action but with the current {@link Event}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ActionStateBenchmark {
+
+    /**
+     * Six history events are created per activity.
+     */
+    @Param({"10000"})
+    public int historySize;
+
+    private List<HistoryEvent> historyEvents;
+
+    private List<IntegerActivityAction> actions;
+
+    @Setup
+    public void setup() {
+        int activities = historySize / 6;
+        historyEvents = activityHistory(activities);
+        SimpleWorkflow workflow = ImmutableSimpleWorkflow.builder()
+                .dataConverter(ImmutableJacksonDataConverter.builder().build()).build();
+        actions = IntStream.range(0, activities).mapToObj(i -> IntegerActivityAction.builder()
+                .actionId(ActionId.of("step" + i)).name(Name.of("Addition")).version(Version.of("1.0"))
+                .workflow(workflow).build()).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Event> fromHistoryEvents() {
+        return Event.fromHistoryEvents(historyEvents);
+    }
+
+    @Benchmark
+    public void stateSweep(Blackhole blackhole) {
+        DecisionContext decisionContext = DecisionContext.create().addAllEvents(Event.fromHistoryEvents(historyEvents));
+        for (IntegerActivityAction action : actions) {
+            blackhole.consume(action.getState(decisionContext));
+        }
+    }
+
+    @Benchmark
+    public void linearStateSweep(Blackhole blackhole) {
+        List<Event> events = Event.fromHistoryEvents(historyEvents);
+        for (IntegerActivityAction action : actions) {
+            EventState state = events.stream().filter(e -> Objects.equals(e.actionId(), action.actionId()))
+                    .findFirst().map(Event::state).orElse(NOT_STARTED);
+            blackhole.consume(state);
+        }
+    }
+
+    @Benchmark
+    public void baselineStateSweep(Blackhole blackhole) {
+        List<BaselineEvent> events = BaselineEvent.fromHistoryEvents(historyEvents);
+        for (IntegerActivityAction action : actions) {
+            blackhole.consume(baselineState(action.actionId(), events));
+        }
+    }
+
+    /**
+     * How {@link ActivityAction} computed its state from the whole event list before
+     * {@link DecisionContext#actionEvents()} existed.
+     */
+    private static EventState baselineState(ActionId actionId, List<BaselineEvent> events) {
+        Optional<BaselineEvent> currentEvent = baselineEvents(actionId, events).stream().findFirst();
+        Optional<BaselineEvent> timerEvent = currentEvent
+                .filter(e -> e.type() == EventType.TimerFired || EventType.TimerCanceled == e.type());
+        return timerEvent.map(t -> EventState.RETRY).orElse(baselineEvents(actionId, events).stream().findFirst()
+                .map(BaselineEvent::state).orElse(NOT_STARTED));
+    }
+
+    private static List<BaselineEvent> baselineEvents(ActionId actionId, List<BaselineEvent> events) {
+        return events.stream().filter(e -> Objects.equals(e.actionId(), actionId)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.amazonaws.services.simpleworkflow.model.EventType;
+import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
+import com.github.fzakaria.waterflow.event.EventState;
+import com.github.fzakaria.waterflow.event.HistoryIndex;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import org.immutables.value.Value;
+
+import java.util.List;
+
+import static com.amazonaws.services.simpleworkflow.model.EventType.*;
+import static com.github.fzakaria.waterflow.event.EventState.*;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The {@link com.github.fzakaria.waterflow.event.Event} attributes {@link ActionStateBenchmark} needs, as they were
+ * computed before they were memoized and dispatched with switches: every access goes through a chain of
+ * comparisons calling {@link #type()} again each time.
+ */
+@Value.Immutable
+abstract class BaselineEvent implements Comparable<BaselineEvent> {
+
+    public abstract HistoryEvent historyEvent();
+
+    @Value.Auxiliary
+    public abstract HistoryIndex historyIndex();
+
+    public static List<BaselineEvent> fromHistoryEvents(List<HistoryEvent> historyEvents) {
+        final HistoryIndex historyIndex = HistoryIndex.of(historyEvents);
+        return historyEvents.stream()
+                .map(h -> ImmutableBaselineEvent.builder().historyEvent(h).historyIndex(historyIndex).build())
+                .sorted().collect(toList());
+    }
+
+    public EventType type() { return EventType.valueOf(historyEvent().getEventType()); }
+
+    public Long id() { return historyEvent().getEventId(); }
+
+    public EventState state() {
+        if (WorkflowExecutionStarted == type()) { return INITIAL; }
+        if (WorkflowExecutionCancelRequested == type()) { return ACTIVE; }
+        if (WorkflowExecutionCompleted == type()) { return SUCCESS; }
+        if (CompleteWorkflowExecutionFailed == type()) { return ERROR; }
+        if (WorkflowExecutionFailed == type()) { return ERROR; }
+        if (FailWorkflowExecutionFailed == type()) { return ERROR; }
+        if (WorkflowExecutionTimedOut == type()) { return ERROR; }
+        if (WorkflowExecutionCanceled == type()) { return ERROR; }
+        if (CancelWorkflowExecutionFailed == type()) { return ERROR; }
+        if (WorkflowExecutionContinuedAsNew == type()) { return INITIAL; }
+        if (ContinueAsNewWorkflowExecutionFailed == type()) { return ERROR; }
+        if (WorkflowExecutionTerminated == type()) { return ERROR; }
+        if (DecisionTaskScheduled == type()) { return INITIAL; }
+        if (DecisionTaskStarted == type()) { return ACTIVE; }
+        if (DecisionTaskCompleted == type()) { return SUCCESS; }
+        if (DecisionTaskTimedOut == type()) { return ERROR; }
+        if (ActivityTaskScheduled == type()) { return INITIAL; }
+        if (ScheduleActivityTaskFailed == type()) { return ERROR; }
+        if (ActivityTaskStarted == type()) { return ACTIVE; }
+        if (ActivityTaskCompleted == type()) { return SUCCESS; }
+        if (ActivityTaskFailed == type()) { return ERROR; }
+        if (ActivityTaskTimedOut == type()) { return ERROR; }
+        if (ActivityTaskCanceled == type()) { return ERROR; }
+        if (ActivityTaskCancelRequested == type()) { return ERROR; }
+        if (RequestCancelActivityTaskFailed == type()) { return ERROR; }
+        if (WorkflowExecutionSignaled == type()) { return SUCCESS; }
+        if (MarkerRecorded == type()) { return INITIAL; }
+        if (RecordMarkerFailed == type()) { return ERROR; }
+        if (TimerStarted == type()) { return INITIAL; }
+        if (StartTimerFailed == type()) { return ERROR; }
+        if (TimerFired == type()) { return SUCCESS; }
+        if (TimerCanceled == type()) { return SUCCESS; }
+        if (CancelTimerFailed == type()) { return ACTIVE; }
+        if (StartChildWorkflowExecutionInitiated == type()) { return INITIAL; }
+        if (StartChildWorkflowExecutionFailed == type()) { return ERROR; }
+        if (ChildWorkflowExecutionStarted == type()) { return ACTIVE; }
+        if (ChildWorkflowExecutionCompleted == type()) { return SUCCESS; }
+        if (ChildWorkflowExecutionFailed == type()) { return ERROR; }
+        if (ChildWorkflowExecutionTimedOut == type()) { return ERROR; }
+        if (ChildWorkflowExecutionCanceled == type()) { return ERROR; }
+        if (ChildWorkflowExecutionTerminated == type()) { return ERROR; }
+        if (SignalExternalWorkflowExecutionInitiated == type()) { return INITIAL; }
+        if (SignalExternalWorkflowExecutionFailed == type()) { return ERROR; }
+        if (ExternalWorkflowExecutionSignaled == type()) { return SUCCESS; }
+        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return INITIAL; }
+        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return ERROR; }
+        if (ExternalWorkflowExecutionCancelRequested == type()) { return SUCCESS; }
+        throw new IllegalArgumentException("Unknown EventType " + type());
+    }
+
+    public ActionId actionId() {
+        if (WorkflowExecutionStarted == type()) { return null; }
+        if (WorkflowExecutionCancelRequested == type()) { return null; }
+        if (WorkflowExecutionCompleted == type()) { return null; }
+        if (CompleteWorkflowExecutionFailed == type()) { return null; }
+        if (WorkflowExecutionFailed == type()) { return null; }
+        if (FailWorkflowExecutionFailed == type()) { return null; }
+        if (WorkflowExecutionTimedOut == type()) { return null; }
+        if (WorkflowExecutionCanceled == type()) { return null; }
+        if (CancelWorkflowExecutionFailed == type()) { return null; }
+        if (WorkflowExecutionContinuedAsNew == type()) { return null; }
+        if (ContinueAsNewWorkflowExecutionFailed == type()) { return null; }
+        if (WorkflowExecutionTerminated == type()) { return null; }
+        if (DecisionTaskScheduled == type()) { return null; }
+        if (DecisionTaskStarted == type()) { return null; }
+        if (DecisionTaskCompleted == type()) { return null; }
+        if (DecisionTaskTimedOut == type()) { return null; }
+        if (ActivityTaskScheduled == type()) { return ActionId.of(historyEvent().getActivityTaskScheduledEventAttributes().getActivityId()); }
+        if (ScheduleActivityTaskFailed == type()) { return ActionId.of(historyEvent().getScheduleActivityTaskFailedEventAttributes().getActivityId()); }
+        if (ActivityTaskStarted == type()) { return scheduledActionId(historyEvent().getActivityTaskStartedEventAttributes().getScheduledEventId()); }
+        if (ActivityTaskCompleted == type()) { return scheduledActionId(historyEvent().getActivityTaskCompletedEventAttributes().getScheduledEventId()); }
+        if (ActivityTaskFailed == type()) { return scheduledActionId(historyEvent().getActivityTaskFailedEventAttributes().getScheduledEventId()); }
+        if (ActivityTaskTimedOut == type()) { return scheduledActionId(historyEvent().getActivityTaskTimedOutEventAttributes().getScheduledEventId()); }
+        if (ActivityTaskCanceled == type()) { return scheduledActionId(historyEvent().getActivityTaskCanceledEventAttributes().getScheduledEventId()); }
+        if (ActivityTaskCancelRequested == type()) { return null; }
+        if (RequestCancelActivityTaskFailed == type()) { return null; }
+        if (WorkflowExecutionSignaled == type()) { return ActionId.of(historyEvent().getWorkflowExecutionSignaledEventAttributes().getSignalName()); }
+        if (MarkerRecorded == type()) { return ActionId.of(historyEvent().getMarkerRecordedEventAttributes().getMarkerName()); }
+        if (RecordMarkerFailed == type()) { return null; }
+        if (TimerStarted == type()) { return ActionId.of(historyEvent().getTimerStartedEventAttributes().getTimerId()); }
+        if (StartTimerFailed == type()) { return ActionId.of(historyEvent().getStartTimerFailedEventAttributes().getTimerId()); }
+        if (TimerFired == type()) { return ActionId.of(historyEvent().getTimerFiredEventAttributes().getTimerId()); }
+        if (TimerCanceled == type()) { return ActionId.of(historyEvent().getTimerCanceledEventAttributes().getTimerId()); }
+        if (CancelTimerFailed == type()) { return ActionId.of(historyEvent().getCancelTimerFailedEventAttributes().getTimerId()); }
+        if (StartChildWorkflowExecutionInitiated == type()) { return ActionId.of(historyEvent().getStartChildWorkflowExecutionInitiatedEventAttributes().getControl()); }
+        if (StartChildWorkflowExecutionFailed == type()) { return null; }
+        if (ChildWorkflowExecutionStarted == type()) { return null; }
+        if (ChildWorkflowExecutionCompleted == type()) { return null; }
+        if (ChildWorkflowExecutionFailed == type()) { return null; }
+        if (ChildWorkflowExecutionTimedOut == type()) { return null; }
+        if (ChildWorkflowExecutionCanceled == type()) { return null; }
+        if (ChildWorkflowExecutionTerminated == type()) { return null; }
+        if (SignalExternalWorkflowExecutionInitiated == type()) { return ActionId.of(historyEvent().getSignalExternalWorkflowExecutionInitiatedEventAttributes().getSignalName()); }
+        if (SignalExternalWorkflowExecutionFailed == type()) { return null; }
+        if (ExternalWorkflowExecutionSignaled == type()) { return null; }
+        if (RequestCancelExternalWorkflowExecutionInitiated == type()) { return ActionId.of(historyEvent().getRequestCancelExternalWorkflowExecutionInitiatedEventAttributes().getControl()); }
+        if (RequestCancelExternalWorkflowExecutionFailed == type()) { return ActionId.of(historyEvent().getRequestCancelExternalWorkflowExecutionFailedEventAttributes().getControl()); }
+        if (ExternalWorkflowExecutionCancelRequested == type()) { return null; }
+        throw new IllegalArgumentException("Unknown EventType " + type());
+    }
+
+    private ActionId scheduledActionId(long scheduledEventId) {
+        ActionId actionId = historyIndex().actionId(scheduledEventId);
+        assert actionId != null : "If we have an activity task event then there must be scheduled event";
+        return actionId;
+    }
+
+    @Override
+    public int compareTo(BaselineEvent event) {
+        return event.id().compareTo(id());
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.amazonaws.services.simpleworkflow.model.ChildWorkflowExecutionCompletedEventAttributes;
+import com.amazonaws.services.simpleworkflow.model.ChildWorkflowExecutionStartedEventAttributes;
+import com.amazonaws.services.simpleworkflow.model.Decision;
+import com.amazonaws.services.simpleworkflow.model.EventType;
+import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
+import com.amazonaws.services.simpleworkflow.model.StartChildWorkflowExecutionInitiatedEventAttributes;
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecution;
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecutionStartedEventAttributes;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.example.workflows.ImmutableSimpleWorkflow;
+import com.github.fzakaria.waterflow.example.workflows.SimpleWorkflow;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.Version;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.github.fzakaria.waterflow.action.ChildWorkflowActions.IntegerChildWorkflowAction;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ChildWorkflowActionTest {
+
+    private final SimpleWorkflow workflow = ImmutableSimpleWorkflow.builder()
+            .dataConverter(ImmutableJacksonDataConverter.builder().build()).build();
+
+    private final IntegerChildWorkflowAction count = IntegerChildWorkflowAction.builder()
+            .actionId(ActionId.of("count")).name(Name.of("Count")).version(Version.of("1.0")).workflow(workflow).build();
+
+    @Test
+    public void startsChildWithDerivedWorkflowId() {
+        DecisionContext decisionContext = DecisionContext.create().addAllEvents(Event.fromHistoryEvents(history()));
+        decisionContext.workflowExecution(new WorkflowExecution().withWorkflowId("parent").withRunId("run"));
+        count.withInput(Lists.newArrayList("a", "b")).decide(decisionContext);
+        Decision decision = decisionContext.decisions().get(0);
+        String workflowId = decision.getStartChildWorkflowExecutionDecisionAttributes().getWorkflowId();
+        assertThat(workflowId.startsWith("parent-") && workflowId.endsWith("-count"), is(true));
+        assertThat(decision.getStartChildWorkflowExecutionDecisionAttributes().getControl(), is("count"));
+
+        DecisionContext nextRun = DecisionContext.create().addAllEvents(Event.fromHistoryEvents(history()));
+        nextRun.workflowExecution(new WorkflowExecution().withWorkflowId("parent").withRunId("next-run"));
+        assertThat(count.childWorkflowId(nextRun).value().equals(workflowId), is(false));
+    }
+
+    @Test
+    public void startsAtMostMaxDecisionsChildrenPerDecisionTask() {
+        DecisionContext decisionContext = DecisionContext.create().addAllEvents(Event.fromHistoryEvents(history()));
+        decisionContext.workflowExecution(new WorkflowExecution().withWorkflowId("parent").withRunId("run"));
+        PartitionedChildWorkflowAction<String, Integer> shards = new PartitionedChildWorkflowAction<>(
+                ActionId.of("shards"), Arrays.asList("a", "b", "c", "d", "e"), 5, 2,
+                (actionId, partition) -> count.withActionId(actionId).withInput(partition));
+        CompletableFuture<List<Integer>> result = shards.decide(decisionContext).toCompletableFuture();
+        assertThat(decisionContext.decisions().size(), is(2));
+        assertThat(decisionContext.decisions().get(1).getStartChildWorkflowExecutionDecisionAttributes().getControl(),
+                is("shards-1"));
+        assertThat(result.isDone(), is(false));
+    }
+
+    @Test
+    public void completesWithResultOfChild() {
+        List<Event> events = Event.fromHistoryEvents(history(
+                historyEvent(2, EventType.StartChildWorkflowExecutionInitiated)
+                        .withStartChildWorkflowExecutionInitiatedEventAttributes(
+                                new StartChildWorkflowExecutionInitiatedEventAttributes().withControl("count")),
+                historyEvent(3, EventType.ChildWorkflowExecutionStarted)
+                        .withChildWorkflowExecutionStartedEventAttributes(
+                                new ChildWorkflowExecutionStartedEventAttributes().withInitiatedEventId(2L)),
+                historyEvent(4, EventType.ChildWorkflowExecutionCompleted)
+                        .withChildWorkflowExecutionCompletedEventAttributes(
+                                new ChildWorkflowExecutionCompletedEventAttributes().withInitiatedEventId(2L).withResult("42"))));
+        assertThat(events.get(0).actionId(), is(ActionId.of("count")));
+
+        CompletableFuture<Integer> result = count.decide(DecisionContext.create().addAllEvents(events)).toCompletableFuture();
+        assertThat(result.join(), is(42));
+    }
+
+    @Test
+    public void partitionsAreContiguousAndBalanced() {
+        List<List<Integer>> partitions = PartitionedChildWorkflowAction.partition(Arrays.asList(1, 2, 3, 4, 5, 6, 7), 3);
+        assertThat(partitions, is(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5), Arrays.asList(6, 7))));
+        assertThat(PartitionedChildWorkflowAction.partition(Arrays.asList(1, 2), 3).size(), is(2));
+    }
+
+    private static List<HistoryEvent> history(HistoryEvent... childEvents) {
+        List<HistoryEvent> historyEvents = Lists.newArrayList(historyEvent(1, EventType.WorkflowExecutionStarted)
+                .withWorkflowExecutionStartedEventAttributes(new WorkflowExecutionStartedEventAttributes()));
+        historyEvents.addAll(Arrays.asList(childEvents));
+        return Lists.reverse(historyEvents);
+    }
+
+    private static HistoryEvent historyEvent(long eventId, EventType eventType) {
+        return new HistoryEvent().withEventId(eventId).withEventType(eventType)
+                .withEventTimestamp(new Date(eventId * 1000));
+    }
+}
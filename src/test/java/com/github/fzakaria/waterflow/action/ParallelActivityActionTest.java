@@ -0,0 +1,70 @@
+package com.github.fzakaria.waterflow.action;
+
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.example.workflows.ImmutableSimpleWorkflow;
+import com.github.fzakaria.waterflow.example.workflows.SimpleWorkflow;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.Version;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.fzakaria.waterflow.TestUtil.activityHistory;
+import static com.github.fzakaria.waterflow.action.ActivityActions.IntegerActivityAction;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ParallelActivityActionTest {
+
+    private final SimpleWorkflow workflow = ImmutableSimpleWorkflow.builder()
+            .dataConverter(ImmutableJacksonDataConverter.builder().build()).build();
+
+    private final IntegerActivityAction addition = IntegerActivityAction.builder().actionId(ActionId.of("addition"))
+            .name(Name.of("Addition")).version(Version.of("1.0")).workflow(workflow).build();
+
+    private final List<Object[]> inputs = IntStream.range(0, 5).mapToObj(i -> new Object[]{i, 1})
+            .collect(Collectors.toList());
+
+    @Test
+    public void schedulesWithinWindow() {
+        DecisionContext decisionContext = decisionContext(3);
+        CompletableFuture<List<Integer>> result = parallel(2).decide(decisionContext).toCompletableFuture();
+        assertThat(result.isDone(), is(false));
+        assertThat(decisionContext.decisions().size(), is(2));
+        assertThat(decisionContext.decisions().get(0).getScheduleActivityTaskDecisionAttributes().getActivityId(),
+                is("fan-3"));
+    }
+
+    @Test
+    public void capsDecisionsPerTask() {
+        DecisionContext decisionContext = decisionContext(0);
+        parallel(5, 3).decide(decisionContext);
+        assertThat(decisionContext.decisions().size(), is(3));
+    }
+
+    @Test
+    public void aggregatesOutputsInOrder() {
+        CompletableFuture<List<Integer>> result = parallel(2).decide(decisionContext(5)).toCompletableFuture();
+        assertThat(result.join(), is(Lists.newArrayList(1, 2, 3, 4, 5)));
+    }
+
+    private ParallelActivityAction<Integer> parallel(int window) {
+        return parallel(window, ParallelActivityAction.DEFAULT_MAX_DECISIONS);
+    }
+
+    private ParallelActivityAction<Integer> parallel(int window, int maxDecisions) {
+        return new ParallelActivityAction<>(ActionId.of("fan"), inputs, window, maxDecisions,
+                (actionId, input) -> addition.withActionId(actionId).withInput(input));
+    }
+
+    private static DecisionContext decisionContext(int completed) {
+        return DecisionContext.create().addAllEvents(Event.fromHistoryEvents(activityHistory(completed, "fan-")));
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.fzakaria.waterflow.activity;
+
+import com.github.fzakaria.waterflow.immutable.Key;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.Version;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class ActivityGuardsTest {
+
+    private final Key key = Key.of(Name.of("Flaky"), Version.of("1.0"));
+
+    private Instant now = Instant.EPOCH;
+
+    private final ActivityGuards guards = new ActivityGuards(ImmutableActivityLimits.builder()
+            .maxConcurrent(1).failureThreshold(2).openDuration(Duration.ofSeconds(10)).build(),
+            new Clock() {
+                @Override
+                public ZoneOffset getZone() {
+                    return ZoneOffset.UTC;
+                }
+
+                @Override
+                public Clock withZone(java.time.ZoneId zone) {
+                    return this;
+                }
+
+                @Override
+                public Instant instant() {
+                    return now;
+                }
+            });
+
+    @Test
+    public void bulkheadMakesTasksBeyondLimitWait() throws InterruptedException {
+        guards.acquire(key);
+        assertThat(guards.allUnavailable(ImmutableSet.of(key)), is(true));
+        Thread waiting = new Thread(() -> guards.acquire(key));
+        waiting.start();
+        waiting.join(100);
+        assertThat(waiting.isAlive(), is(true));
+
+        guards.release(key, true);
+        waiting.join(1000);
+        assertThat(waiting.isAlive(), is(false));
+        assertThat(guards.waits(key), is(1L));
+        assertThat(guards.rejections(key), is(0L));
+    }
+
+    @Test
+    public void bulkheadRejectsTasksOnceTheyCanNotWaitLonger() {
+        guards.acquire(key);
+        try {
+            guards.acquire(key, Duration.ofMillis(10));
+            fail("Task should have been rejected");
+        } catch (BulkheadFullException e) {
+            assertThat(guards.rejections(key), is(1L));
+        }
+        guards.release(key, true);
+        guards.acquire(key, Duration.ZERO);
+    }
+
+    @Test
+    public void circuitOpensAfterConsecutiveFailuresAndClosesAfterTrial() {
+        for (int i = 0; i < 2; i++) {
+            guards.acquire(key);
+            guards.release(key, false);
+        }
+        assertThat(guards.allOpen(ImmutableSet.of(key)), is(true));
+        assertRejected(CircuitOpenException.class);
+
+        now = now.plusSeconds(10);
+        assertThat(guards.allOpen(ImmutableSet.of(key)), is(false));
+        guards.acquire(key);
+        guards.release(key, true);
+        assertThat(guards.circuitBreaker(key).get().state(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    private void assertRejected(Class<? extends ActivityRejectedException> rejection) {
+        try {
+            guards.acquire(key);
+            fail("Task should have been rejected");
+        } catch (ActivityRejectedException e) {
+            assertThat(e.getClass().equals(rejection), is(true));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.fzakaria.waterflow.activity;
+
+import com.amazonaws.services.simpleworkflow.AmazonSimpleWorkflowClient;
+import com.amazonaws.services.simpleworkflow.model.ActivityTask;
+import com.amazonaws.services.simpleworkflow.model.ActivityType;
+import com.github.fzakaria.waterflow.Activities;
+import com.github.fzakaria.waterflow.converter.DataConverter;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of dispatching an activity task to its {@link ActivityMethod}
+ * through reflection and through the {@link ActivityInvoker#methodHandle()}, against calling a no-op activity directly.
+ * {@link #invoke} includes converting the input and result of the task.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ActivityInvokerBenchmark {
+
+    public static class NoopActivities extends Activities {
+
+        @ActivityMethod(name = "Noop", version = "1.0")
+        public Integer noop(Integer lhs, Integer rhs) {
+            return lhs;
+        }
+    }
+
+    private NoopActivities activities;
+
+    private Method method;
+
+    private ActivityInvoker invoker;
+
+    private ActivityTask task;
+
+    private Object[] arguments;
+
+    private Integer lhs;
+
+    private Integer rhs;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        activities = new NoopActivities();
+        method = NoopActivities.class.getMethod("noop", Integer.class, Integer.class);
+        DataConverter dataConverter = ImmutableJacksonDataConverter.builder().build();
+        invoker = ImmutableActivityInvoker.builder().activityMethod(method.getAnnotation(ActivityMethod.class))
+                .dataConverter(dataConverter).instance(activities).method(method)
+                .service(new AmazonSimpleWorkflowClient()).build();
+        arguments = new Object[]{1, 2};
+        lhs = 1;
+        rhs = 2;
+        task = new ActivityTask().withActivityId("noop").withTaskToken("token")
+                .withActivityType(new ActivityType().withName("Noop").withVersion("1.0"))
+                .withInput(dataConverter.toData(arguments));
+    }
+
+    @Benchmark
+    public Object direct() {
+        return activities.noop(lhs, rhs);
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return method.invoke(activities, arguments);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        return (Object) invoker.methodHandle().invokeExact(arguments);
+    }
+
+    @Benchmark
+    public String invoke() {
+        return invoker.invoke(task);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.fzakaria.waterflow.activity;
+
+import com.amazonaws.services.simpleworkflow.AmazonSimpleWorkflowClient;
+import com.amazonaws.services.simpleworkflow.model.ActivityTask;
+import com.amazonaws.services.simpleworkflow.model.ActivityType;
+import com.github.fzakaria.waterflow.Activities;
+import com.github.fzakaria.waterflow.converter.DataConverter;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LocalRetryPolicyTest {
+
+    public static class FlakyActivities extends Activities {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        @ActivityMethod(name = "Flaky", version = "1.0", localRetries = 3, localRetryDelayMillis = 1)
+        public Integer flaky(Integer failures) {
+            if (invocations.incrementAndGet() <= failures) {
+                throw new IllegalStateException("flaky");
+            }
+            return invocations.get();
+        }
+
+        @ActivityMethod(name = "Inherits", version = "1.0")
+        public void inherits() {
+        }
+
+        @ActivityMethod(name = "OptsOut", version = "1.0", localRetries = 0)
+        public void optsOut() {
+        }
+    }
+
+    private final LocalRetryPolicy policy = ImmutableLocalRetryPolicy.builder().maxRetries(3)
+            .initialDelay(Duration.ofMillis(100)).maxDelay(Duration.ofMillis(300)).build();
+
+    @Test
+    public void delaysGrowUpToMaxDelayWithinBudget() {
+        Instant now = Instant.now();
+        Instant deadline = now.plusSeconds(1);
+        Throwable failure = new IllegalStateException();
+        assertThat(policy.nextDelay(1, failure, now, deadline), is(Optional.of(Duration.ofMillis(100))));
+        assertThat(policy.nextDelay(2, failure, now, deadline), is(Optional.of(Duration.ofMillis(200))));
+        assertThat(policy.nextDelay(3, failure, now, deadline), is(Optional.of(Duration.ofMillis(300))));
+        assertThat(policy.nextDelay(4, failure, now, deadline), is(Optional.empty()));
+        assertThat(policy.nextDelay(1, failure, now, now.plusMillis(50)), is(Optional.empty()));
+    }
+
+    @Test
+    public void retriesMustFinishWithinBudget() {
+        Instant now = Instant.now();
+        Throwable failure = new IllegalStateException();
+        assertThat(policy.nextDelay(1, failure, now, Duration.ofMillis(800), now.plusSeconds(1)),
+                is(Optional.of(Duration.ofMillis(100))));
+        assertThat(policy.nextDelay(1, failure, now, Duration.ofMillis(900), now.plusSeconds(1)), is(Optional.empty()));
+    }
+
+    @Test
+    public void budgetIsCappedWhenTimeoutsAreNone() throws NoSuchMethodException {
+        ActivityMethod flaky = FlakyActivities.class.getMethod("flaky", Integer.class).getAnnotation(ActivityMethod.class);
+        assertThat(policy.retryBudget(flaky), is(Duration.ofMinutes(1)));
+        assertThat(ImmutableLocalRetryPolicy.copyOf(policy).withMaxBudget(Duration.ofSeconds(5)).retryBudget(flaky),
+                is(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void methodsInheritOrOptOutOfPollerPolicy() throws NoSuchMethodException {
+        ActivityMethod flaky = FlakyActivities.class.getMethod("flaky", Integer.class).getAnnotation(ActivityMethod.class);
+        ActivityMethod inherits = FlakyActivities.class.getMethod("inherits").getAnnotation(ActivityMethod.class);
+        ActivityMethod optsOut = FlakyActivities.class.getMethod("optsOut").getAnnotation(ActivityMethod.class);
+        assertThat(LocalRetryPolicy.of(flaky, Optional.of(policy)).get().maxRetries(), is(3));
+        assertThat(LocalRetryPolicy.of(inherits, Optional.of(policy)), is(Optional.of(policy)));
+        assertThat(LocalRetryPolicy.of(optsOut, Optional.of(policy)), is(Optional.empty()));
+    }
+
+    @Test
+    public void invokerRetriesLocally() throws NoSuchMethodException {
+        FlakyActivities activities = new FlakyActivities();
+        Method method = FlakyActivities.class.getMethod("flaky", Integer.class);
+        ActivityMethod activityMethod = method.getAnnotation(ActivityMethod.class);
+        DataConverter dataConverter = ImmutableJacksonDataConverter.builder().build();
+        ActivityInvoker invoker = ImmutableActivityInvoker.builder().activityMethod(activityMethod)
+                .dataConverter(dataConverter).instance(activities).method(method)
+                .localRetryPolicy(LocalRetryPolicy.of(activityMethod))
+                .service(new AmazonSimpleWorkflowClient()).build();
+        ActivityTask task = new ActivityTask().withActivityId("flaky").withTaskToken("token")
+                .withActivityType(new ActivityType().withName("Flaky").withVersion("1.0"))
+                .withInput(dataConverter.toArguments(new Object[]{2}));
+        assertThat(dataConverter.fromData(invoker.invoke(task), Integer.class), is(3));
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ClaimCheckDataConverterTest {
+
+    private final InMemoryBlobStore blobStore = new InMemoryBlobStore();
+
+    private final ClaimCheckDataConverter dataConverter = ImmutableClaimCheckDataConverter.builder()
+            .delegate(ImmutableJacksonDataConverter.builder().build()).blobStore(blobStore).threshold(100).build();
+
+    @Test
+    public void smallPayloadsAreCarriedInline() {
+        final String data = dataConverter.toData("small");
+        assertThat(ClaimCheckDataConverter.isReference(data), is(false));
+        assertThat(dataConverter.fromData(data, String.class), is("small"));
+    }
+
+    @Test
+    public void largePayloadsAreOffloaded() {
+        final String input = Strings.repeat("large", 100);
+        final String data = dataConverter.toData(input);
+        assertThat(ClaimCheckDataConverter.isReference(data), is(true));
+        assertThat(data.length() < 100, is(true));
+        assertThat(dataConverter.fromData(data, String.class), is(input));
+    }
+
+    @Test
+    public void payloadsAreDeletedOnceExpired() {
+        final String input = Strings.repeat("large", 100);
+        final String data = dataConverter.toData(input);
+        String key = data.substring(ClaimCheckDataConverter.REFERENCE_PREFIX.length());
+
+        blobStore.purge(Instant.now().minus(Duration.ofHours(1)));
+        assertThat(blobStore.get(key).isPresent(), is(true));
+        blobStore.purge(Instant.now().plusSeconds(1));
+        assertThat(blobStore.get(key), is(Optional.empty()));
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class CompressingDataConverterTest {
+
+    private final JacksonDataConverter jacksonDataConverter = ImmutableJacksonDataConverter.builder().build();
+
+    private final CompressingDataConverter dataConverter = ImmutableCompressingDataConverter.builder()
+            .delegate(jacksonDataConverter).threshold(100).build();
+
+    @Test
+    public void smallPayloadsPassThrough() {
+        final String data = dataConverter.toData("small");
+        assertThat(data, is(jacksonDataConverter.toData("small")));
+        assertThat(dataConverter.fromData(data, String.class), is("small"));
+        assertThat(dataConverter.compressionRatio(), is(1.0));
+    }
+
+    @Test
+    public void largePayloadsAreCompressed() {
+        final String input = Strings.repeat("large", 100);
+        final String data = dataConverter.toData(input);
+        assertThat(data.startsWith(CompressingDataConverter.MARKER), is(true));
+        assertThat(data.length() < 100, is(true));
+        assertThat(dataConverter.fromData(data, String.class), is(input));
+        assertThat(dataConverter.compressionRatio() < 0.2, is(true));
+    }
+
+    @Test
+    public void detailsAreCompressed() {
+        final String details = Strings.repeat("step ", 100);
+        final String encoded = dataConverter.encode(details);
+        assertThat(encoded.length() < details.length(), is(true));
+        assertThat(dataConverter.decode(encoded), is(details));
+        assertThat(dataConverter.decode("^done"), is("^done"));
+    }
+
+    @Test
+    public void legacyPayloadsAreRead() {
+        final String input = Strings.repeat("legacy", 100);
+        assertThat(dataConverter.fromData(jacksonDataConverter.toData(input), String.class), is(input));
+    }
+}
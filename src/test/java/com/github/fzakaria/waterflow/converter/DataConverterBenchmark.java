@@ -0,0 +1,166 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.guava.GuavaModule;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the throughput of encoding and decoding representative payloads with each {@link DataConverter}.
+ * The size of the encoded payloads, which has to fit the SWF limits, is checked by {@link DataConverterSizeTest};
+ * the allocation rate is reported by the GC profiler:
+ * <pre>mvn -P benchmark test-compile exec:exec -Dbenchmark="DataConverterBenchmark -prof gc"</pre>
+ * The JSON converters are measured with and without the indentation and default typing of the default mapper.
+ * To compare another converter register it in {@link #CONVERTERS} and select it with {@code -p converter=<name>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DataConverterBenchmark {
+
+    public static final Map<String, Supplier<DataConverter>> CONVERTERS = new LinkedHashMap<>();
+    static {
+        CONVERTERS.put("json", () -> ImmutableJacksonDataConverter.builder().build());
+        CONVERTERS.put("json-compact", () -> jackson(false, true));
+        CONVERTERS.put("json-untyped", () -> jackson(true, false));
+        CONVERTERS.put("json-untyped-compact", () -> jackson(false, false));
+        CONVERTERS.put("smile", () -> ImmutableSmileDataConverter.builder().build());
+        CONVERTERS.put("compressed", () -> ImmutableCompressingDataConverter.builder()
+                .delegate(jackson(false, true)).build());
+    }
+
+    public static final List<String> PAYLOAD_KINDS =
+            ImmutableList.of("primitive", "arguments", "pojo", "types", "throwable");
+
+    public static class Line {
+        public String sku;
+        public int quantity;
+        public double price;
+    }
+
+    public static class Order {
+        public long id;
+        public String customer;
+        public List<Line> lines = new ArrayList<>();
+    }
+
+    public static class Schedule {
+        public ImmutableList<String> steps;
+        public Optional<String> owner;
+        public Duration timeout;
+        public Instant start;
+    }
+
+    @Param({"json", "json-compact", "json-untyped", "json-untyped-compact", "smile", "compressed"})
+    public String converter;
+
+    @Param({"primitive", "arguments", "pojo", "types", "throwable"})
+    public String payloadKind;
+
+    /**
+     * Number of lines of the {@code pojo} payload.
+     */
+    @Param({"100"})
+    public int records;
+
+    private DataConverter dataConverter;
+
+    private Object payload;
+
+    private Class<?> type;
+
+    private String data;
+
+    @Setup
+    public void setup() {
+        Supplier<DataConverter> supplier = CONVERTERS.get(converter);
+        if (supplier == null) {
+            throw new IllegalArgumentException("Unknown converter " + converter);
+        }
+        dataConverter = supplier.get();
+        payload = payload(payloadKind, records);
+        type = payload instanceof Object[] ? Object[].class : payload.getClass();
+        data = dataConverter.toData(payload);
+    }
+
+    @Benchmark
+    public String encode() {
+        return dataConverter.toData(payload);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return dataConverter.fromData(data, type);
+    }
+
+    public static Object payload(String payloadKind, int records) {
+        switch (payloadKind) {
+            case "primitive":
+                return 42L;
+            case "arguments":
+                return new Object[]{1, "two", 3.0, true};
+            case "pojo":
+                Order order = new Order();
+                order.id = 1;
+                order.customer = "customer";
+                for (int i = 0; i < records; i++) {
+                    Line line = new Line();
+                    line.sku = "sku-" + i;
+                    line.quantity = i;
+                    line.price = i / 3.0;
+                    order.lines.add(line);
+                }
+                return order;
+            case "types":
+                Schedule schedule = new Schedule();
+                schedule.steps = ImmutableList.of("extract", "transform", "load");
+                schedule.owner = Optional.of("owner");
+                schedule.timeout = Duration.ofMinutes(5);
+                schedule.start = Instant.ofEpochSecond(1_000_000_000L);
+                return schedule;
+            case "throwable":
+                return new IllegalStateException("failed", new IllegalArgumentException("cause"));
+            default:
+                throw new IllegalArgumentException("Unknown payload " + payloadKind);
+        }
+    }
+
+    private static DataConverter jackson(boolean indent, boolean defaultTyping) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (defaultTyping) {
+            objectMapper.enableDefaultTyping(ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        }
+        objectMapper.registerModules(new Jdk8Module(), new GuavaModule(), new JavaTimeModule());
+        objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+        objectMapper.configure(SerializationFeature.INDENT_OUTPUT, indent);
+        return ImmutableJacksonDataConverter.builder().objectMapper(objectMapper).build();
+    }
+}
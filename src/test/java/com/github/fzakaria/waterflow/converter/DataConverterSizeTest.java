@@ -0,0 +1,43 @@
+package com.github.fzakaria.waterflow.converter;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static com.github.fzakaria.waterflow.converter.DataConverterBenchmark.CONVERTERS;
+import static com.github.fzakaria.waterflow.converter.DataConverterBenchmark.PAYLOAD_KINDS;
+import static com.github.fzakaria.waterflow.converter.DataConverterBenchmark.payload;
+import static com.github.fzakaria.waterflow.swf.SwfConstants.MAX_INPUT_LENGTH;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Sizes of the payloads of the {@link DataConverterBenchmark} once encoded by each converter.
+ */
+public class DataConverterSizeTest {
+
+    @Test
+    public void payloadsFitInputLimit() {
+        for (Map.Entry<String, ?> converter : CONVERTERS.entrySet()) {
+            for (String payloadKind : PAYLOAD_KINDS) {
+                assertThat(converter.getKey() + " " + payloadKind, size(converter.getKey(), payloadKind) <= MAX_INPUT_LENGTH,
+                        is(true));
+            }
+        }
+    }
+
+    @Test
+    public void compactPayloadsAreNotLarger() {
+        for (String payloadKind : PAYLOAD_KINDS) {
+            assertThat(payloadKind, size("json-compact", payloadKind) <= size("json", payloadKind), is(true));
+            assertThat(payloadKind, size("json-untyped-compact", payloadKind) <= size("json-untyped", payloadKind),
+                    is(true));
+            assertThat(payloadKind, size("json-untyped-compact", payloadKind) <= size("json-compact", payloadKind),
+                    is(true));
+        }
+    }
+
+    private static int size(String converter, String payloadKind) {
+        return CONVERTERS.get(converter).get().toData(payload(payloadKind, 100)).length();
+    }
+}
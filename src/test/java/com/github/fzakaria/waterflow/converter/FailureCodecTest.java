@@ -0,0 +1,54 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class FailureCodecTest {
+
+    private final FailureCodec codec = new FailureCodec(1024, 10, 5);
+
+    @Test
+    public void decodesTypedFailureWithCauses() {
+        Throwable failure = new IllegalStateException("outer", new IllegalArgumentException("inner"));
+        Throwable decoded = codec.decode(codec.encode(failure));
+        assertThat(decoded, instanceOf(IllegalStateException.class));
+        assertThat(decoded.getMessage(), is("outer"));
+        assertThat(decoded.getStackTrace()[0], is(failure.getStackTrace()[0]));
+        assertThat(decoded.getCause(), instanceOf(IllegalArgumentException.class));
+        assertThat(decoded.getCause().getMessage(), is("inner"));
+    }
+
+    @Test
+    public void unknownTypesDecodeToStandIn() {
+        String details = codec.encode(new IllegalStateException("failed"))
+                .replace(IllegalStateException.class.getName(), "com.example.MissingException");
+        Throwable decoded = codec.decode(details);
+        assertThat(decoded, instanceOf(RemoteFailureException.class));
+        assertThat(((RemoteFailureException) decoded).getType(), is("com.example.MissingException"));
+        assertThat(decoded.getMessage(), is("failed"));
+    }
+
+    @Test
+    public void encodingStaysWithinBudget() {
+        Throwable failure = new RuntimeException(Strings.repeat("message", 1000));
+        for (int i = 0; i < 20; i++) {
+            failure = new RuntimeException(Strings.repeat("cause", 100), failure);
+        }
+        String details = codec.encode(failure);
+        assertThat(details.length() <= 1024, is(true));
+        assertThat(codec.decode(details), instanceOf(RuntimeException.class));
+    }
+
+    @Test
+    public void legacyDetailsAreRead() {
+        JacksonDataConverter dataConverter = ImmutableJacksonDataConverter.builder().build();
+        Throwable decoded = dataConverter.fromFailure(dataConverter.toData(new IllegalStateException("legacy")));
+        assertThat(decoded, instanceOf(IllegalStateException.class));
+        assertThat(dataConverter.fromFailure(dataConverter.toFailure(new IllegalStateException("new"))).getMessage(),
+                is("new"));
+    }
+}
@@ -1,10 +1,18 @@
 package com.github.fzakaria.waterflow.converter;
 
+import com.google.common.collect.Lists;
 import com.google.common.reflect.TypeToken;
 import org.junit.Test;
 
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
@@ -28,4 +36,46 @@ public class JacksonDataConverterTest {
         final String result = dataConverter.fromData(input, TypeToken.of(String.class).getType());
         assertThat("deserialize empty fine", result, nullValue());
     }
+
+    @Test
+    public void positionalArgumentsTest() {
+        JacksonDataConverter positional = ImmutableJacksonDataConverter.builder().positionalArguments(true).build();
+        List<Type> parameterTypes = Arrays.asList(Duration.class, new TypeToken<List<Long>>() {}.getType());
+        Object[] input = new Object[] {Duration.ofSeconds(5), Arrays.asList(1L, 2L)};
+        final String json = positional.toArguments(input);
+        assertThat("no type information", json.contains("java."), is(false));
+        assertThat("cant convert positional arguments", positional.fromArguments(json, parameterTypes), is(input));
+        assertThat("always decode positional arguments", dataConverter.fromArguments(json, parameterTypes), is(input));
+    }
+
+    @Test
+    public void positionalArgumentsStartingWithBracketTest() {
+        JacksonDataConverter positional = ImmutableJacksonDataConverter.builder().positionalArguments(true).build();
+        List<Type> parameterTypes = Arrays.asList(String.class, new TypeToken<List<Long>>() {}.getType());
+        Object[] input = new Object[] {"[a-z]", Lists.newArrayList(1L, 2L)};
+        final String json = positional.toArguments(input);
+        assertThat("cant convert positional arguments", positional.fromArguments(json, parameterTypes), is(input));
+    }
+
+    @Test
+    public void legacyArgumentsTest() {
+        JacksonDataConverter positional = ImmutableJacksonDataConverter.builder().positionalArguments(true).build();
+        Object[] input = new Object[] {1, "two"};
+        final String json = dataConverter.toArguments(input);
+        Object[] output = positional.fromArguments(json, Arrays.asList(Integer.class, String.class));
+        assertThat("cant convert legacy arguments", output, is(input));
+    }
+
+    @Test
+    public void streamingSerializeDeserializeTest() {
+        final Type type = new TypeToken<List<Long>>() {}.getType();
+        final List<Long> input = Lists.newArrayList(1L, 2L, 3L);
+        final StringWriter writer = new StringWriter();
+        dataConverter.toWriter(input, writer);
+        assertThat("same as string", writer.toString(), is(dataConverter.toData(input)));
+        assertThat("cant read", dataConverter.fromReader(new StringReader(writer.toString()), type), is(input));
+        final ByteBuffer buffer = ByteBuffer.wrap(writer.toString().getBytes(UTF_8));
+        assertThat("cant read buffer", dataConverter.fromBuffer(buffer, type), is(input));
+        assertThat("buffer untouched", buffer.position(), is(0));
+    }
 }
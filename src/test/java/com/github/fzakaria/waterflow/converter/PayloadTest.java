@@ -0,0 +1,43 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.collect.Lists;
+import com.google.common.reflect.TypeToken;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PayloadTest {
+
+    private final JacksonDataConverter dataConverter = ImmutableJacksonDataConverter.builder().build();
+
+    private final List<Type> parameterTypes = Arrays.asList(new TypeToken<List<Long>>() {}.getType(), Integer.class);
+
+    @Test
+    public void payloadIsDecodedWhenRead() {
+        Payload payload = Payload.of(dataConverter.toData(Lists.newArrayList(1L, 2L)), dataConverter);
+        assertThat(payload.value(parameterTypes.get(0)), is(Lists.newArrayList(1L, 2L)));
+    }
+
+    @Test
+    public void payloadIsSplicedIntoArguments() {
+        Payload list = Payload.of(dataConverter.toData(Lists.newArrayList(1L, 2L)), dataConverter);
+        Payload number = Payload.of(dataConverter.toData(3), dataConverter);
+        String json = dataConverter.toArguments(new Object[] {list, number});
+        assertThat(dataConverter.fromArguments(json, parameterTypes),
+                is(new Object[] {Lists.newArrayList(1L, 2L), 3}));
+    }
+
+    @Test
+    public void payloadIsWrittenAsPositionalArgument() {
+        JacksonDataConverter positional = ImmutableJacksonDataConverter.builder().positionalArguments(true).build();
+        Payload list = Payload.of(dataConverter.toData(Lists.newArrayList(1L, 2L)), dataConverter);
+        Payload number = Payload.of(dataConverter.toData(3), dataConverter);
+        String json = positional.toArguments(new Object[] {list, number});
+        assertThat(positional.fromArguments(json, parameterTypes), is(new Object[] {Lists.newArrayList(1L, 2L), 3}));
+    }
+}
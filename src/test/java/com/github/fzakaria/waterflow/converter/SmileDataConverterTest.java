@@ -0,0 +1,43 @@
+package com.github.fzakaria.waterflow.converter;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SmileDataConverterTest {
+
+    private final SmileDataConverter dataConverter = ImmutableSmileDataConverter.builder().build();
+
+    @Test
+    public void serializeDeserializeTest() {
+        Map<String, Object> input = Maps.newHashMap();
+        input.put("name", "values");
+        input.put("values", Lists.newArrayList(1, 2, 3));
+        final String data = dataConverter.toData(input);
+        assertThat("header missing", SmileDataConverter.isSmile(data), is(true));
+        Map<String, Object> output = dataConverter.fromData(data, Map.class);
+        assertThat("cant convert smile", output, is(input));
+    }
+
+    @Test
+    public void argumentsSerializeDeserializeTest() {
+        Object[] input = new Object[] {1, "two"};
+        final String data = dataConverter.toArguments(input);
+        assertThat("cant convert smile arguments",
+                dataConverter.fromArguments(data, Arrays.asList(Integer.class, String.class)), is(input));
+    }
+
+    @Test
+    public void fallbackToJsonTest() {
+        List<Integer> input = Lists.newArrayList(1, 2, 3);
+        final String json = ImmutableJacksonDataConverter.builder().build().toData(input);
+        assertThat("cant read json", dataConverter.fromData(json, List.class), is(input));
+    }
+}
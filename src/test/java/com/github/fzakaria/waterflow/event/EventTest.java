@@ -0,0 +1,83 @@
+package com.github.fzakaria.waterflow.event;
+
+import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.github.fzakaria.waterflow.TestUtil.activityHistory;
+import static com.github.fzakaria.waterflow.TestUtil.loadActionEvents;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class EventTest {
+
+    private final List<Event> events = loadActionEvents("fixtures/simple_workflow.json");
+
+    private final Map<Long, Event> eventsById = events.stream().collect(toMap(Event::id, Function.identity()));
+
+    @Test
+    public void activityEventsResolveScheduledActionId() {
+        assertThat(eventsById.get(5L).actionId(), is(ActionId.of("step1")));
+        assertThat(eventsById.get(6L).actionId(), is(ActionId.of("step1")));
+        assertThat(eventsById.get(7L).actionId(), is(ActionId.of("step1")));
+        assertThat(eventsById.get(13L).actionId(), is(ActionId.of("step2")));
+        assertThat(eventsById.get(19L).actionId(), is(ActionId.of("step3")));
+    }
+
+    @Test
+    public void decisionEventsHaveNoActionId() {
+        assertThat(eventsById.get(22L).actionId(), nullValue());
+    }
+
+    @Test
+    public void eventsShareHistoryIndex() {
+        HistoryIndex historyIndex = events.get(0).historyIndex();
+        events.forEach(e -> assertThat(e.historyIndex() == historyIndex, is(true)));
+        assertThat(historyIndex.historyEvent(17L), is(eventsById.get(17L).historyEvent()));
+        assertThat(historyIndex.historyEvent(24L), nullValue());
+    }
+
+    @Test
+    public void actionEventsAreRebuiltOnceEventsAreAdded() {
+        List<HistoryEvent> historyEvents = activityHistory(2);
+        DecisionContext decisionContext = DecisionContext.create()
+                .addAllEvents(Event.fromHistoryEvents(historyEvents.subList(0, 6)));
+        assertThat(decisionContext.actionEvents().events(ActionId.of("step0")).isEmpty(), is(true));
+
+        decisionContext.addAllEvents(Event.fromHistoryEvents(historyEvents.subList(6, historyEvents.size())));
+        assertThat(decisionContext.actionEvents().events(ActionId.of("step0")).isEmpty(), is(false));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void eventsOfDecisionContextCanNotBeModified() {
+        DecisionContext decisionContext = DecisionContext.create().addAllEvents(Event.fromHistoryEvents(activityHistory(1)));
+        decisionContext.events().set(0, decisionContext.events().get(1));
+    }
+
+    @Test
+    public void appendHistoryEventsReusesEarlierEvents() {
+        // spans several chunks of the history index
+        List<HistoryEvent> historyEvents = activityHistory(400);
+        int newer = 1000;
+        List<Event> earlierEvents = Event.fromHistoryEvents(historyEvents.subList(newer, historyEvents.size()));
+
+        List<Event> appended = Event.appendHistoryEvents(earlierEvents, historyEvents.subList(0, newer));
+
+        assertThat(appended.stream().map(Event::id).collect(toList()),
+                is(Event.fromHistoryEvents(historyEvents).stream().map(Event::id).collect(toList())));
+        assertThat(appended.get(newer) == earlierEvents.get(0), is(true));
+        assertThat(appended.get(0).actionId(), is(ActionId.of("step399")));
+        HistoryIndex historyIndex = appended.get(0).historyIndex();
+        assertThat(historyIndex.lastEventId(), is((long) historyEvents.size()));
+        assertThat(historyIndex.actionId(5L), is(ActionId.of("step0")));
+        assertThat(earlierEvents.get(0).historyIndex().historyEvent(historyIndex.lastEventId()), nullValue());
+    }
+}
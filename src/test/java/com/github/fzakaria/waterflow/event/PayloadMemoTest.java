@@ -0,0 +1,54 @@
+package com.github.fzakaria.waterflow.event;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PayloadMemoTest {
+
+    private final PayloadMemo memo = new PayloadMemo();
+
+    @Test
+    public void decodesEachPayloadOncePerType() {
+        AtomicInteger decodes = new AtomicInteger();
+        assertThat(memo.decode(5, Integer.class, () -> decodes.incrementAndGet()), is(1));
+        assertThat(memo.decode(5, Integer.class, () -> decodes.incrementAndGet()), is(1));
+        assertThat(memo.decode(5, Long.class, () -> (long) decodes.incrementAndGet()), is(2L));
+        assertThat(memo.decode(6, Integer.class, () -> decodes.incrementAndGet()), is(3));
+        assertThat(memo.size(), is(3));
+    }
+
+    @Test
+    public void remembersNullPayloads() {
+        AtomicInteger decodes = new AtomicInteger();
+        assertThat(memo.decode(1, String.class, () -> {
+            decodes.incrementAndGet();
+            return null;
+        }), nullValue());
+        assertThat(memo.decode(1, String.class, () -> "decoded"), nullValue());
+        assertThat(decodes.get(), is(1));
+    }
+
+    @Test
+    public void stopsMemoizingBeyondItsBound() {
+        PayloadMemo bounded = new PayloadMemo(200);
+        AtomicInteger decodes = new AtomicInteger();
+        String data = "0123456789";
+        for (int i = 0; i < 2; i++) {
+            bounded.decode(1, Integer.class, data, () -> decodes.incrementAndGet());
+            bounded.decode(2, Integer.class, data, () -> decodes.incrementAndGet());
+        }
+        // each entry weighs 64 + 2 * 10 bytes, so only the first two fit
+        assertThat(bounded.size(), is(2));
+        assertThat(bounded.bytes(), is(168L));
+        bounded.decode(3, Integer.class, data, () -> decodes.incrementAndGet());
+        bounded.decode(3, Integer.class, data, () -> decodes.incrementAndGet());
+        assertThat(bounded.size(), is(2));
+        assertThat(bounded.bytes(), is(168L));
+        assertThat(decodes.get(), is(4));
+    }
+}
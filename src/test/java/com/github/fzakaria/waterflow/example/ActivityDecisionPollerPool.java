@@ -4,6 +4,7 @@ import com.github.fzakaria.waterflow.Workflow;
 import com.github.fzakaria.waterflow.example.workflows.ExampleActivities;
 import com.github.fzakaria.waterflow.example.workflows.ImmutableAdvancedInputWorkflow;
 import com.github.fzakaria.waterflow.example.workflows.ImmutableHeartbeatWorkflow;
+import com.github.fzakaria.waterflow.example.workflows.ImmutablePollingWorkflow;
 import com.github.fzakaria.waterflow.example.workflows.ImmutableRetryingActivityWorkflow;
 import com.github.fzakaria.waterflow.example.workflows.ImmutableSimpleMarkerWorkflow;
 import com.github.fzakaria.waterflow.example.workflows.ImmutableSimpleWorkflow;
@@ -50,7 +51,8 @@ public abstract class ActivityDecisionPollerPool {
                 ImmutableTimerWorkflow.builder().dataConverter(config().dataConverter()).build(),
                 ImmutableHeartbeatWorkflow.builder().dataConverter(config().dataConverter()).build(),
                 ImmutableWaitForSignalWorkflow.builder().dataConverter(config().dataConverter()).build(),
-                ImmutableRetryingActivityWorkflow.builder().dataConverter(config().dataConverter()).build()
+                ImmutableRetryingActivityWorkflow.builder().dataConverter(config().dataConverter()).build(),
+                ImmutablePollingWorkflow.builder().dataConverter(config().dataConverter()).build()
         );
         return ImmutableDecisionPollerPool.builder().domain(config().domain())
                 .taskList(config().taskList())
@@ -56,7 +56,7 @@ public abstract class AdvancedInputWorkflow extends Workflow<AdamAndEve, AdamAnd
     @Override
     public CompletionStage<AdamAndEve> decide(DecisionContext decisionContext) {
         // Set a breakpoint below to watch the decisions list to see what gets added on each call to Workflow.decide()
-        CompletionStage<AdamAndEve> input = workflowInput(decisionContext.events());
+        CompletionStage<AdamAndEve> input = workflowInput(decisionContext);
 
         CompletionStage<Animal> step1CompletionStage =
                 input.thenCompose(i -> step1.withInput(i.adam(), i.eve()).decide(decisionContext));
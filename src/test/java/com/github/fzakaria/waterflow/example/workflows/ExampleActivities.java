@@ -1,6 +1,7 @@
 package com.github.fzakaria.waterflow.example.workflows;
 
 import com.github.fzakaria.waterflow.Activities;
+import com.github.fzakaria.waterflow.ActivityContext;
 import com.github.fzakaria.waterflow.activity.ActivityMethod;
 
 import java.time.Duration;
@@ -65,10 +66,11 @@ public  class ExampleActivities extends Activities {
     @ActivityMethod(name = "Heartbeat", version = "1.0", heartbeatTimeout = "5")
     public Void heartbeat() throws InterruptedException {
         final LongAdder adder = new LongAdder();
+        final ActivityContext context = activityContext();
         final ScheduledExecutorService service = Executors.newScheduledThreadPool(1);
         service.scheduleAtFixedRate(() -> {
             adder.increment();
-            recordHeartbeat(format("This is the %s heartbeat", adder.intValue()));
+            context.recordHeartbeat(format("This is the %s heartbeat", adder.intValue()));
         }, 0, 1, TimeUnit.SECONDS);
         Thread.sleep(Duration.ofSeconds(10).toMillis());
         service.shutdownNow();
@@ -14,7 +14,7 @@ import static com.github.fzakaria.waterflow.action.ActivityActions.VoidActivityA
 
 /**
  * WaterFlow example workflow that demonstrates an activity which makes use of "recordHeartbeat"
- * @see ExampleActivities#recordHeartbeat(String)
+ * @see com.github.fzakaria.waterflow.ActivityContext#recordHeartbeat(String)
  */
 @Value.Immutable
 public abstract class HeartbeatWorkflow extends Workflow<Void, Void> {
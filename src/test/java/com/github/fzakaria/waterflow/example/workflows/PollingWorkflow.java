@@ -0,0 +1,79 @@
+package com.github.fzakaria.waterflow.example.workflows;
+
+import com.github.fzakaria.waterflow.TaskType;
+import com.github.fzakaria.waterflow.Workflow;
+import com.github.fzakaria.waterflow.event.EventState;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.DecisionContext;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.Version;
+import com.google.common.reflect.TypeToken;
+import org.immutables.value.Value;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static com.github.fzakaria.waterflow.action.ActivityActions.IntegerActivityAction;
+
+/**
+ * WaterFlow example workflow that keeps incrementing a counter, one activity at a time, until it reaches a target.
+ * Its history is kept short by continuing as new with the counter as the input of the next run.
+ */
+@Value.Immutable
+public abstract class PollingWorkflow extends Workflow<Integer, Integer> {
+
+    public static final int TARGET = 100;
+
+    @Override
+    public Name name() {
+        return Name.of("Polling Workflow");
+    }
+
+    @Override
+    public Version version() {
+        return Version.of("1.0");
+    }
+
+    @Override
+    public TypeToken<Integer> inputType() {
+        return TypeToken.of(Integer.class);
+    }
+
+    @Override
+    public TypeToken<Integer> outputType() {
+        return TypeToken.of(Integer.class);
+    }
+
+    @Override
+    public int continueAsNewMaxEvents() {
+        return 50;
+    }
+
+    final IntegerActivityAction poll = IntegerActivityAction.builder().actionId(ActionId.of("poll-0"))
+            .name(Name.of("Addition")).version(Version.of("1.0")).workflow(this).build();
+
+    @Override
+    public CompletionStage<Integer> decide(DecisionContext decisionContext) {
+        return workflowInput(decisionContext).thenCompose(i -> poll(decisionContext, i, 0));
+    }
+
+    private CompletionStage<Integer> poll(DecisionContext decisionContext, Integer counter, int iteration) {
+        if (counter >= TARGET) {
+            return CompletableFuture.completedFuture(counter);
+        }
+        return poll.withActionId(ActionId.of("poll-" + iteration)).withInput(counter, 1).decide(decisionContext)
+                .thenCompose(next -> poll(decisionContext, next, iteration + 1));
+    }
+
+    /**
+     * Carry the counter over once the latest poll has completed, so that no activity is in flight.
+     */
+    @Override
+    public Optional<Integer> continueAsNewState(DecisionContext decisionContext) {
+        return decisionContext.actionEvents().events(TaskType.ACTIVITY).stream().findFirst()
+                .filter(e -> e.state() == EventState.SUCCESS)
+                .map(e -> dataConverter().fromData(e.output(), Integer.class))
+                .filter(counter -> counter < TARGET);
+    }
+}
@@ -47,7 +47,7 @@ public abstract class RetryingActivityWorkflow extends Workflow<Integer, Integer
     @Override
     public CompletionStage<Integer> decide(DecisionContext decisionContext) {
         // Set a breakpoint below to watch the decisions list to see what gets added on each call to Workflow.decide()
-        CompletionStage<Integer> input = workflowInput(decisionContext.events());
+        CompletionStage<Integer> input = workflowInput(decisionContext);
         return input.thenCompose(i ->  step1.withInput(i).decide(decisionContext));
     }
 }
\ No newline at end of file
@@ -45,7 +45,7 @@ public abstract class ThrowingWorkflow extends Workflow<Integer, Integer>  {
 
     @Override
     public CompletionStage<Integer> decide(DecisionContext decisionContext) {
-        CompletionStage<Integer> input = workflowInput(decisionContext.events());
+        CompletionStage<Integer> input = workflowInput(decisionContext);
 
         return input.thenCompose(i -> step1.withInput(i, 0).decide(decisionContext));
     }
@@ -0,0 +1,41 @@
+package com.github.fzakaria.waterflow.poller;
+
+import com.amazonaws.services.simpleworkflow.AmazonSimpleWorkflow;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.immutable.Domain;
+import com.github.fzakaria.waterflow.immutable.TaskListName;
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(JMockit.class)
+public class ActivityPollerPoolTest {
+
+    @Mocked
+    private AmazonSimpleWorkflow swf;
+
+    @Test
+    public void virtualThreadsDefaultMaxInFlight() {
+        assertThat(builder().build().maxInFlight(), is(0));
+        assertThat(builder().virtualThreads(true).build().maxInFlight(),
+                is(ActivityPollerPool.DEFAULT_VIRTUAL_THREADS_MAX_IN_FLIGHT));
+        assertThat(builder().virtualThreads(true).workers(4).build().maxInFlight(), is(8));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void virtualThreadsRejectNoMaxInFlight() {
+        builder().virtualThreads(true).maxInFlight(0).build();
+    }
+
+    private ImmutableActivityPollerPool.Builder builder() {
+        return ImmutableActivityPollerPool.builder().domain(Domain.of("domain")).taskList(TaskListName.of("tasks"))
+                .service(new ScheduledThreadPoolExecutor(1)).swf(swf)
+                .dataConverter(ImmutableJacksonDataConverter.builder().build());
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.fzakaria.waterflow.poller;
+
+import com.amazonaws.services.simpleworkflow.AmazonSimpleWorkflow;
+import com.amazonaws.services.simpleworkflow.model.ActivityTask;
+import com.amazonaws.services.simpleworkflow.model.ActivityType;
+import com.amazonaws.services.simpleworkflow.model.RespondActivityTaskFailedRequest;
+import com.github.fzakaria.waterflow.Activities;
+import com.github.fzakaria.waterflow.activity.ActivityMethod;
+import com.github.fzakaria.waterflow.converter.DataConverter;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.immutable.Domain;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.TaskListName;
+import mockit.Mocked;
+import mockit.Verifications;
+import mockit.integration.junit4.JMockit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(JMockit.class)
+public class ActivityPollerTest {
+
+    public static class FailingActivities extends Activities {
+
+        @ActivityMethod(name = "Failing", version = "1.0")
+        public Integer failing(Integer input) {
+            throw new IllegalArgumentException("bad input", new IOException("io"));
+        }
+    }
+
+    private final DataConverter dataConverter = ImmutableJacksonDataConverter.builder().build();
+
+    @Test
+    public void failureOfActivityIsReportedAsThrown(@Mocked AmazonSimpleWorkflow swf) {
+        ActivityPoller activityPoller = ImmutableActivityPoller.builder().name(Name.of("worker"))
+                .domain(Domain.of("domain")).taskList(TaskListName.of("tasks")).swf(swf).dataConverter(dataConverter)
+                .addActivities(new FailingActivities()).build();
+        activityPoller.consume(new ActivityTask().withActivityId("failing").withTaskToken("token")
+                .withActivityType(new ActivityType().withName("Failing").withVersion("1.0"))
+                .withInput(dataConverter.toArguments(new Object[]{1})));
+
+        List<RespondActivityTaskFailedRequest> requests = new ArrayList<>();
+        new Verifications() {{
+            swf.respondActivityTaskFailed(withCapture(requests));
+        }};
+        assertThat(requests.size(), is(1));
+        assertThat(requests.get(0).getReason(), is("bad input"));
+        Throwable failure = dataConverter.fromFailure(requests.get(0).getDetails());
+        assertThat(failure, instanceOf(IllegalArgumentException.class));
+        assertThat(failure.getMessage(), is("bad input"));
+        assertThat(failure.getCause(), instanceOf(IOException.class));
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.fzakaria.waterflow.poller;
+
+import com.amazonaws.services.simpleworkflow.AmazonSimpleWorkflow;
+import com.amazonaws.services.simpleworkflow.model.DecisionTask;
+import com.amazonaws.services.simpleworkflow.model.HistoryEvent;
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecution;
+import com.amazonaws.services.simpleworkflow.model.WorkflowType;
+import com.github.fzakaria.waterflow.converter.DataConverter;
+import com.github.fzakaria.waterflow.converter.ImmutableJacksonDataConverter;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.example.workflows.ImmutableSimpleWorkflow;
+import com.github.fzakaria.waterflow.immutable.ActionId;
+import com.github.fzakaria.waterflow.immutable.Domain;
+import com.github.fzakaria.waterflow.immutable.Name;
+import com.github.fzakaria.waterflow.immutable.TaskListName;
+import com.google.common.collect.Lists;
+import mockit.Mocked;
+import mockit.integration.junit4.JMockit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.github.fzakaria.waterflow.TestUtil.activityHistory;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+@RunWith(JMockit.class)
+public class DecisionPollerTest {
+
+    private final DataConverter dataConverter = ImmutableJacksonDataConverter.builder().build();
+
+    private final WorkflowExecution workflowExecution = new WorkflowExecution().withWorkflowId("workflow").withRunId("run");
+
+    private final WorkflowHistoryCache historyCache = new WorkflowHistoryCache();
+
+    @Test
+    public void appendsNewerEventsToCachedHistory(@Mocked AmazonSimpleWorkflow swf) {
+        historyCache.put(workflowExecution, Event.fromHistoryEvents(activityHistory(2)));
+        decisionPoller(swf).consume(decisionTask(activityHistory(3)));
+        assertThat(historyCache.get(workflowExecution).get().size(), is(19));
+    }
+
+    @Test
+    public void replaysFullHistoryIfCachedHistoryDoesNotLineUp(@Mocked AmazonSimpleWorkflow swf) {
+        List<HistoryEvent> gappedHistory = Lists.newArrayList(activityHistory(2));
+        gappedHistory.remove(3);
+        historyCache.put(workflowExecution, Event.fromHistoryEvents(gappedHistory));
+        decisionPoller(swf).consume(decisionTask(activityHistory(3)));
+        List<Event> events = historyCache.get(workflowExecution).get();
+        assertThat(events.size(), is(19));
+        assertThat(events.get(events.size() - 1).id(), is(1L));
+    }
+
+    @Test
+    public void reusesCachedHistoryEndingAtPreviousDecision(@Mocked AmazonSimpleWorkflow swf) {
+        // the second decision of two activities was started at event 9
+        historyCache.put(workflowExecution, Event.fromHistoryEvents(activityHistory(2, "cached").subList(4, 13)));
+        decisionPoller(swf).consume(decisionTask(activityHistory(3)).withPreviousStartedEventId(9L));
+        List<Event> events = historyCache.get(workflowExecution).get();
+        assertThat(events.size(), is(19));
+        assertThat(event(events, 5).actionId(), is(ActionId.of("cached0")));
+    }
+
+    @Test
+    public void replaysFullHistoryIfCachedHistoryDoesNotEndAtPreviousDecision(@Mocked AmazonSimpleWorkflow swf) {
+        historyCache.put(workflowExecution, Event.fromHistoryEvents(activityHistory(2, "cached")));
+        decisionPoller(swf).consume(decisionTask(activityHistory(3)).withPreviousStartedEventId(9L));
+        List<Event> events = historyCache.get(workflowExecution).get();
+        assertThat(events.size(), is(19));
+        assertThat(event(events, 5).actionId(), is(ActionId.of("step0")));
+    }
+
+    private static Event event(List<Event> events, long eventId) {
+        return events.stream().filter(e -> e.id() == eventId).findFirst().get();
+    }
+
+    private DecisionPoller decisionPoller(AmazonSimpleWorkflow swf) {
+        return ImmutableDecisionPoller.builder().name(Name.of("decider")).domain(Domain.of("domain"))
+                .taskList(TaskListName.of("tasks")).swf(swf).dataConverter(dataConverter)
+                .addWorkflows(ImmutableSimpleWorkflow.builder().dataConverter(dataConverter).build())
+                .streamHistory(true).historyCache(historyCache).build();
+    }
+
+    private DecisionTask decisionTask(List<HistoryEvent> historyEvents) {
+        return new DecisionTask().withTaskToken("token").withWorkflowExecution(workflowExecution)
+                .withWorkflowType(new WorkflowType().withName("Simple Workflow").withVersion("1.0"))
+                .withEvents(historyEvents);
+    }
+}
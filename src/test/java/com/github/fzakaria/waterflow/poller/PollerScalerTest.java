@@ -0,0 +1,47 @@
+package com.github.fzakaria.waterflow.poller;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class PollerScalerTest {
+
+    private final PollerScaler scaler = new PollerScaler(ImmutablePollerScaling.builder()
+            .minPollers(1).maxPollers(3).scaleUpAfter(2).scaleDownAfter(3).build());
+
+    @Test
+    public void scalesUpAfterConsecutiveWork() {
+        assertThat(scaler.isActive(1), is(false));
+        scaler.record(true);
+        scaler.record(false);
+        scaler.record(true);
+        assertThat(scaler.activePollers(), is(1));
+        scaler.record(true);
+        assertThat(scaler.activePollers(), is(2));
+        assertThat(scaler.isActive(1), is(true));
+        for (int i = 0; i < 10; i++) {
+            scaler.record(true);
+        }
+        assertThat(scaler.activePollers(), is(3));
+        assertThat(scaler.polledWork(), is(13L));
+        assertThat(scaler.polledEmpty(), is(1L));
+    }
+
+    @Test
+    public void scalesDownAfterConsecutiveEmptyPolls() {
+        for (int i = 0; i < 4; i++) {
+            scaler.record(true);
+        }
+        assertThat(scaler.activePollers(), is(3));
+        scaler.record(false);
+        scaler.record(false);
+        assertThat(scaler.activePollers(), is(3));
+        scaler.record(false);
+        assertThat(scaler.activePollers(), is(2));
+        for (int i = 0; i < 10; i++) {
+            scaler.record(false);
+        }
+        assertThat(scaler.activePollers(), is(1));
+    }
+}
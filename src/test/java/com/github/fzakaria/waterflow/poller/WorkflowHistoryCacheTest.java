@@ -0,0 +1,70 @@
+package com.github.fzakaria.waterflow.poller;
+
+import com.amazonaws.services.simpleworkflow.model.WorkflowExecution;
+import com.github.fzakaria.waterflow.event.Event;
+import com.github.fzakaria.waterflow.event.PayloadMemo;
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.fzakaria.waterflow.TestUtil.activityHistory;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class WorkflowHistoryCacheTest {
+
+    private final WorkflowExecution workflowExecution = new WorkflowExecution().withWorkflowId("workflow").withRunId("run");
+
+    @Test
+    public void onlyGetIsCountedInStats() {
+        WorkflowHistoryCache cache = new WorkflowHistoryCache();
+        assertThat(cache.get(workflowExecution).isPresent(), is(false));
+        List<Event> events = Event.fromHistoryEvents(activityHistory(2));
+        cache.put(workflowExecution, events);
+        List<Event> newerEvents = Event.appendHistoryEvents(events, activityHistory(3).subList(0, 6));
+        cache.append(workflowExecution, newerEvents, 6);
+        assertThat(cache.payloadMemo(workflowExecution).isPresent(), is(true));
+        assertThat(cache.get(workflowExecution).get().size(), is(19));
+
+        assertThat(cache.missCount(), is(1L));
+        assertThat(cache.hitCount(), is(1L));
+    }
+
+    @Test
+    public void evictsByEstimatedBytes() {
+        // a history of 5 activities is 31 events, estimated to weigh at least 512 bytes each
+        long maximumBytes = 100_000;
+        WorkflowHistoryCache cache = new WorkflowHistoryCache(maximumBytes, Duration.ofMinutes(1));
+        WorkflowExecution last = null;
+        for (int i = 0; i < 20; i++) {
+            last = new WorkflowExecution().withWorkflowId("workflow" + i).withRunId("run");
+            cache.put(last, Event.fromHistoryEvents(activityHistory(5)));
+        }
+        assertThat(cache.size() <= maximumBytes / (31 * 512), is(true));
+        assertThat(cache.get(last).isPresent(), is(true));
+    }
+
+    @Test
+    public void weighsTheMemoWhenCachedAgain() {
+        // the memo of an execution may take up to a 16th of the cache, room for a single payload of 3000 chars
+        long maximumBytes = 100_000;
+        long memoBytes = 64 + 2 * 3000;
+        WorkflowHistoryCache cache = new WorkflowHistoryCache(maximumBytes, Duration.ofMinutes(1));
+        String data = Strings.repeat("x", 3000);
+        WorkflowExecution last = null;
+        for (int i = 0; i < 20; i++) {
+            last = new WorkflowExecution().withWorkflowId("workflow" + i).withRunId("run");
+            List<Event> events = Event.fromHistoryEvents(activityHistory(1));
+            cache.put(last, events);
+            PayloadMemo payloadMemo = cache.payloadMemo(last).get();
+            payloadMemo.decode(1, String.class, data, () -> data);
+            payloadMemo.decode(2, String.class, data, () -> data);
+            assertThat(payloadMemo.bytes(), is(memoBytes));
+            cache.put(last, events);
+        }
+        assertThat(cache.size() <= maximumBytes / (7 * 512 + memoBytes), is(true));
+        assertThat(cache.get(last).isPresent(), is(true));
+    }
+}
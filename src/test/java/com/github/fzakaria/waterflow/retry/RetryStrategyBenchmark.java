@@ -0,0 +1,56 @@
+package com.github.fzakaria.waterflow.retry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of computing the delay of an exponential backoff, with and without {@link JitterRetryStrategy}.
+ * How much the jitter spreads the retries of a burst of failures is asserted by {@link RetryStrategyTest}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RetryStrategyBenchmark {
+
+    @Param({"NONE", "FULL", "EQUAL"})
+    public String jitter;
+
+    @Param({"5"})
+    public int attempts;
+
+    private RetryStrategy retryStrategy;
+
+    private final Instant startTime = Instant.EPOCH;
+
+    private long attempt;
+
+    @Setup
+    public void setup() {
+        RetryStrategy backoff = new ExponentialDelayRetryStrategy(Duration.ofSeconds(10), Duration.ofMinutes(10));
+        retryStrategy = jitter.equals("NONE") ? backoff
+                : new JitterRetryStrategy(backoff, JitterRetryStrategy.Jitter.valueOf(jitter), new Random(42));
+    }
+
+    @Benchmark
+    public Duration nextRetry() {
+        attempt = attempt % attempts + 1;
+        return retryStrategy.nextRetry(attempt, startTime);
+    }
+}
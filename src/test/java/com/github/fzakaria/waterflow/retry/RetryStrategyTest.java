@@ -0,0 +1,84 @@
+package com.github.fzakaria.waterflow.retry;
+
+import com.github.fzakaria.waterflow.converter.RemoteFailureException;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RetryStrategyTest {
+
+    private final Instant startTime = Instant.now();
+
+    @Test
+    public void exponentialDelayDoesNotOverflow() {
+        RetryStrategy retryStrategy = new ExponentialDelayRetryStrategy(Duration.ofSeconds(1), Duration.ofHours(1));
+        assertThat(retryStrategy.nextRetry(1, startTime), is(Duration.ofSeconds(1)));
+        assertThat(retryStrategy.nextRetry(3, startTime), is(Duration.ofSeconds(7)));
+        assertThat(retryStrategy.nextRetry(32, startTime), is(Duration.ofHours(1)));
+        assertThat(retryStrategy.nextRetry(100, startTime), is(Duration.ofHours(1)));
+    }
+
+    @Test
+    public void jitterStaysWithinDelay() {
+        RetryStrategy equal = new JitterRetryStrategy(new FixedDelayRetryStrategy(Duration.ofSeconds(10)),
+                JitterRetryStrategy.Jitter.EQUAL, new Random(1));
+        for (int i = 0; i < 100; i++) {
+            Duration delay = equal.nextRetry(1, startTime);
+            assertThat(delay.compareTo(Duration.ofSeconds(5)) >= 0 && delay.compareTo(Duration.ofSeconds(10)) <= 0,
+                    is(true));
+        }
+        RetryStrategy none = new JitterRetryStrategy(NoRetryStrategy.INSTANCE, JitterRetryStrategy.Jitter.FULL);
+        assertThat(none.nextRetry(1, startTime), is(Duration.ZERO));
+    }
+
+    @Test
+    public void jitterSpreadsRetriesOfBurst() {
+        RetryStrategy backoff = new ExponentialDelayRetryStrategy(Duration.ofSeconds(10), Duration.ofMinutes(10));
+        assertThat(peakRetriesPerSecond(backoff), is(1000));
+        assertThat(peakRetriesPerSecond(new JitterRetryStrategy(backoff, JitterRetryStrategy.Jitter.FULL,
+                new Random(42))) < 250, is(true));
+        assertThat(peakRetriesPerSecond(new JitterRetryStrategy(backoff, JitterRetryStrategy.Jitter.EQUAL,
+                new Random(42))) < 500, is(true));
+    }
+
+    /**
+     * @return the peak number of retries started within a second by 1000 actions failing at once, every retry
+     * failing again up to 5 attempts
+     */
+    private static int peakRetriesPerSecond(RetryStrategy retryStrategy) {
+        Map<Long, Integer> load = new HashMap<>();
+        for (int a = 0; a < 1000; a++) {
+            long time = 0;
+            for (int i = 1; i <= 5; i++) {
+                time += retryStrategy.nextRetry(i, Instant.EPOCH).getSeconds();
+                load.merge(time, 1, Integer::sum);
+            }
+        }
+        return load.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    @Test
+    public void classifiesFailures() {
+        RetryStrategy retryStrategy = new MaxLimitRetryStrategy(ClassifyingRetryStrategy.neverRetryOn(
+                new FixedDelayRetryStrategy(Duration.ofSeconds(1)), IllegalArgumentException.class), 3);
+        assertThat(retryStrategy.nextRetry(1, startTime, new IllegalStateException()), is(Duration.ofSeconds(1)));
+        assertThat(retryStrategy.nextRetry(1, startTime, new NumberFormatException()), is(Duration.ZERO));
+        assertThat(retryStrategy.nextRetry(1, startTime,
+                new RuntimeException(new IllegalArgumentException())), is(Duration.ZERO));
+        assertThat(retryStrategy.nextRetry(1, startTime, new RemoteFailureException(
+                IllegalArgumentException.class.getName(), "remote", null)), is(Duration.ZERO));
+
+        RetryStrategy retryOn = ClassifyingRetryStrategy.retryOn(
+                new FixedDelayRetryStrategy(Duration.ofSeconds(1)), TimeoutException.class);
+        assertThat(retryOn.nextRetry(1, startTime, new TimeoutException()), is(Duration.ofSeconds(1)));
+        assertThat(retryOn.nextRetry(1, startTime, new IllegalStateException()), is(Duration.ZERO));
+    }
+}
@@ -49,4 +49,36 @@ public class DecisionTaskIteratorTest {
 
         assertThat(Lists.newArrayList(decisionTaskIterator), is(events));
     }
+
+    @Test
+    public void stopsAtLastKnownEvent(@Mocked AmazonSimpleWorkflow swf) {
+        PollForDecisionTaskRequest initialRequest = new PollForDecisionTaskRequest();
+        List<HistoryEvent> events = loadHistoryEvents("fixtures/simple_workflow.json");
+        List<List<HistoryEvent>> pages = Lists.partition(events, 6);
+        DecisionTask initialDecisionTask = new DecisionTask().withTaskToken("xyz")
+                .withNextPageToken("1").withEvents(pages.get(0));
+        // events 23 to 18 are on the first page, 17 to 12 on the second one
+        DecisionTaskIterator decisionTaskIterator = new DecisionTaskIterator(swf, initialRequest, initialDecisionTask, 12);
+        new Expectations() {{
+            swf.pollForDecisionTask(initialRequest);times=1;
+            returns(new DecisionTask().withTaskToken("abc").withNextPageToken("2").withEvents(pages.get(1)));
+        }};
+
+        assertThat(Lists.newArrayList(decisionTaskIterator), is(events.subList(0, 11)));
+    }
+
+    @Test
+    public void doesNotRequestPageOfKnownEvents(@Mocked AmazonSimpleWorkflow swf) {
+        PollForDecisionTaskRequest initialRequest = new PollForDecisionTaskRequest();
+        List<HistoryEvent> events = loadHistoryEvents("fixtures/simple_workflow.json");
+        List<List<HistoryEvent>> pages = Lists.partition(events, 6);
+        DecisionTask initialDecisionTask = new DecisionTask().withTaskToken("xyz")
+                .withNextPageToken("1").withEvents(pages.get(0));
+        DecisionTaskIterator decisionTaskIterator = new DecisionTaskIterator(swf, initialRequest, initialDecisionTask, 17);
+        new Expectations() {{
+            swf.pollForDecisionTask(initialRequest);times=0;
+        }};
+
+        assertThat(Lists.newArrayList(decisionTaskIterator), is(pages.get(0)));
+    }
 }